@@ -5,6 +5,7 @@
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 
 public class BinaryHeap<Type extends Comparable<Type>> extends Heap<Type>
@@ -39,7 +40,7 @@ public class BinaryHeap<Type extends Comparable<Type>> extends Heap<Type>
     @Override
     public int GetSize ()
     {
-        return Size;
+        return Size - NumTombstones;
     }
 
     /**
@@ -49,7 +50,7 @@ public class BinaryHeap<Type extends Comparable<Type>> extends Heap<Type>
     @Override
     public boolean IsEmpty ()
     {
-        return Size == 0;
+        return GetSize() == 0;
     }
 
     /**
@@ -68,8 +69,19 @@ public class BinaryHeap<Type extends Comparable<Type>> extends Heap<Type>
     @Override
     public void Push (Type item)
     {
+        /* A lazily removed item is still in place, so pushing it again just revives it. */
+        if (NumTombstones > 0 && ConsumeTombstone(item))
+        {
+            Restore(IndexOf(item));
+            return;
+        }
+        if (Positions != null && Positions.containsKey(item))
+        {
+            throw new IllegalArgumentException("Tried to push an item that is already in the binary heap.");
+        }
         /* Add the item at the next free space. */
         Elems.add(Size, item);
+        Index(item, Size);
         /* Increment the binary heap Size. */
         Size++;
         /* Float the new item. */
@@ -89,25 +101,199 @@ public class BinaryHeap<Type extends Comparable<Type>> extends Heap<Type>
         {
             throw new IndexOutOfBoundsException("Tried to pop from an empty binary heap.");
         }
-        /* Save the top item. */
-        Type topItem = ItemAt(0);
-        /* Swap top item with the last item. */
-        SwapItems(0, LastItem());
-        /* Decrement the binary heap Size. */
-        Size--;
-        /* Sink the new top item (was the last item). */
+        /* Discard any lazily removed items that have reached the top. */
+        Type topItem = PopTop();
+        while (NumTombstones > 0 && ConsumeTombstone(topItem))
+        {
+            topItem = PopTop();
+        }
+        return topItem;
+    }
+
+    /**
+     * Replaces the top item of the binary heap with the given item, returning the old top. This is equivalent to a
+     * Pop() followed by a Push(), but restores the heap with a single sink.
+     * @param item the item to put in place of the top item.
+     * @return the topmost element of the binary heap before the replacement.
+     * @throws IndexOutOfBoundsException when called on an empty binary heap.
+     * @throws IllegalArgumentException when the heap is position-indexed and already holds the item elsewhere.
+     */
+    public Type ReplaceTop (Type item)
+    {
+        if (IsEmpty())
+        {
+            throw new IndexOutOfBoundsException("Tried to replace the top of an empty binary heap.");
+        }
+        /* Peek() also discards any lazily removed items at the top. */
+        Type topItem = Peek();
+        if (item != topItem && Positions != null && Positions.containsKey(item))
+        {
+            throw new IllegalArgumentException("Tried to push an item that is already in the binary heap.");
+        }
+        Unindex(topItem);
+        SetItem(0, item);
         Sink(0);
-        /* Return the popped item. */
         return topItem;
     }
 
+    /**
+     * Reports whether or not the given item is in the binary heap. Items are matched by identity. This takes constant
+     * time when the position index is enabled, and linear time otherwise.
+     * @param item the item to look for.
+     * @return true if at least one stored copy of the item has not been removed, false otherwise.
+     */
+    public boolean Contains (Type item)
+    {
+        return LiveCopies(item) > 0;
+    }
+
+    /**
+     * Removes the given item from the binary heap. Items are matched by identity. Finding the item takes constant time
+     * when the position index is enabled, and linear time otherwise. With lazy removal the item is only marked as
+     * removed, and it is discarded once it reaches the top or the heap is compacted; otherwise it is taken out
+     * immediately in logarithmic time. If the same item is stored more than once, only one copy is removed.
+     * @param item the item to remove.
+     * @return true if the item was in the binary heap, false otherwise.
+     */
+    public boolean Remove (Type item)
+    {
+        if (LiveCopies(item) <= 0)
+        {
+            return false;
+        }
+        if (LazyRemoval)
+        {
+            Tombstones.merge(item, 1, Integer::sum);
+            NumTombstones++;
+            if (NumTombstones > CompactionThreshold * Size)
+            {
+                Compact();
+            }
+        }
+        else
+        {
+            RemoveAt(IndexOf(item));
+        }
+        return true;
+    }
+
+    /**
+     * Sets whether the binary heap keeps an index from each item to its position. The index makes Contains() constant
+     * time and Remove() logarithmic, at the cost of a map update on every item move. While indexed, an item may only
+     * be in the heap once. Since items are matched by identity, this includes boxed values the JVM caches and shares:
+     * an indexed BinaryHeap of Integers rejects a second Push(3), because both calls push the same cached Integer.
+     * @param enabled true to maintain the position index, false to drop it.
+     * @throws IllegalStateException when enabling the index on a heap that holds the same item more than once.
+     */
+    public void SetPositionIndexed (boolean enabled)
+    {
+        if (!enabled)
+        {
+            Positions = null;
+            return;
+        }
+        IdentityHashMap<Type, Integer> positions = new IdentityHashMap<Type, Integer>();
+        for (int i = 0; i < Size; i++)
+        {
+            if (positions.put(Elems.get(i), i) != null)
+            {
+                throw new IllegalStateException("Tried to index a binary heap that holds the same item more than once.");
+            }
+        }
+        Positions = positions;
+    }
+
+    /**
+     * Reports whether or not the binary heap keeps a position index.
+     * @return true if the position index is maintained, false otherwise.
+     */
+    public boolean IsPositionIndexed ()
+    {
+        return Positions != null;
+    }
+
+    /**
+     * Sets whether Remove() only marks items as removed instead of taking them out immediately. Marked items are
+     * discarded when they reach the top, or all at once when they outnumber the compaction threshold. Turning lazy
+     * removal off compacts the heap.
+     * @param enabled true to remove lazily, false to remove immediately.
+     */
+    public void SetLazyRemoval (boolean enabled)
+    {
+        LazyRemoval = enabled;
+        if (!enabled && NumTombstones > 0)
+        {
+            Compact();
+        }
+    }
+
+    /**
+     * Reports whether or not Remove() removes lazily.
+     * @return true if the binary heap removes lazily, false otherwise.
+     */
+    public boolean IsLazyRemoval ()
+    {
+        return LazyRemoval;
+    }
+
+    /**
+     * Sets the fraction of the binary heap's stored items that may be lazily removed items before the heap is
+     * compacted.
+     * @param threshold the fraction of stored items, between 0 and 1.
+     * @throws IllegalArgumentException when threshold is not between 0 and 1.
+     */
+    public void SetCompactionThreshold (double threshold)
+    {
+        if (!(threshold >= 0 && threshold <= 1))
+        {
+            throw new IllegalArgumentException(String.format("Invalid compaction threshold: %f.", threshold));
+        }
+        CompactionThreshold = threshold;
+    }
+
+    /**
+     * Gets the fraction of stored items that may be lazily removed items before the binary heap is compacted.
+     * @return the compaction threshold.
+     */
+    public double GetCompactionThreshold ()
+    {
+        return CompactionThreshold;
+    }
+
+    /**
+     * Sets whether Pop() should use the bottom-up (Floyd/Wegener) strategy. Bottom-up popping walks the hole left by
+     * the top item down to a leaf along the higher-ranking child, then floats the last item up from there. This takes
+     * roughly one comparison per level instead of the two or three Sink() needs, which pays off when the Comparator
+     * is expensive.
+     * @param enabled true to pop bottom-up, false to pop using the standard sink.
+     */
+    public void SetBottomUpPop (boolean enabled)
+    {
+        BottomUpPop = enabled;
+    }
+
+    /**
+     * Reports whether or not Pop() uses the bottom-up strategy.
+     * @return true if this binary heap pops bottom-up, false otherwise.
+     */
+    public boolean IsBottomUpPop ()
+    {
+        return BottomUpPop;
+    }
+
     /**
      * Peeks at the top item in the heap.
      * @return the item that would be returned by the next call to Pop().
      * @throws IndexOutOfBoundsException when called on an empty binary heap.
      */
+    @Override
     public Type Peek ()
     {
+        /* Discard any lazily removed items that have reached the top. */
+        while (IsValidIndex(0) && NumTombstones > 0 && ConsumeTombstone(ItemAt(0)))
+        {
+            PopTop();
+        }
         if (IsValidIndex(0))
         {
             return ItemAt(0);
@@ -183,9 +369,13 @@ public class BinaryHeap<Type extends Comparable<Type>> extends Heap<Type>
     public BinaryHeap<Type> clone ()
     {
         BinaryHeap<Type> clone = new BinaryHeap<Type>(Comparer);
-        for (int i = 0; i < Size; i++)
+        clone.SetBottomUpPop(BottomUpPop);
+        clone.SetPositionIndexed(IsPositionIndexed());
+        clone.SetLazyRemoval(LazyRemoval);
+        clone.SetCompactionThreshold(CompactionThreshold);
+        for (Type item : LiveItems())
         {
-            clone.Push(Elems.get(i));
+            clone.Push(item);
         }
         return clone;
     }
@@ -195,6 +385,14 @@ public class BinaryHeap<Type extends Comparable<Type>> extends Heap<Type>
     private int Size = 0;
     private ArrayList<Type> Elems;
     private Comparator<Type> Comparer;
+    private boolean BottomUpPop = false;
+    /* Maps each item to its index, or null when the position index is disabled. */
+    private IdentityHashMap<Type, Integer> Positions = null;
+    /* Counts, per item, the stored copies that have been lazily removed. */
+    private IdentityHashMap<Type, Integer> Tombstones = new IdentityHashMap<Type, Integer>();
+    private int NumTombstones = 0;
+    private boolean LazyRemoval = false;
+    private double CompactionThreshold = 0.25;
     private final Comparator<Type> DefaultComparer = new Comparator<Type>()
     {
         @Override
@@ -268,6 +466,262 @@ public class BinaryHeap<Type extends Comparable<Type>> extends Heap<Type>
         }
     }
 
+    /**
+     * Pops the top stored item, whether or not it has been lazily removed. The heap must not be physically empty.
+     * @return the topmost stored item of the binary heap.
+     */
+    private Type PopTop ()
+    {
+        /* In bottom-up mode, hand off to the comparison-minimizing pop. */
+        if (BottomUpPop)
+        {
+            return PopBottomUp();
+        }
+        /* Save the top item. */
+        Type topItem = ItemAt(0);
+        /* Swap top item with the last item. */
+        SwapItems(0, LastItem());
+        /* Decrement the binary heap Size. */
+        Size--;
+        Unindex(topItem);
+        /* Sink the new top item (was the last item). */
+        Sink(0);
+        /* Return the popped item. */
+        return topItem;
+    }
+
+    /**
+     * Removes the item at the given index by moving the last item into its place and restoring that item's position.
+     * @param index the index of the item to remove.
+     */
+    private void RemoveAt (int index)
+    {
+        Type removedItem = ItemAt(index);
+        if (index != LastItem())
+        {
+            SwapItems(index, LastItem());
+        }
+        Size--;
+        Unindex(removedItem);
+        if (IsValidIndex(index))
+        {
+            Restore(index);
+        }
+    }
+
+    /**
+     * Moves the item at the given index up or down to its proper position.
+     * @param index the index of the item to restore.
+     */
+    private void Restore (int index)
+    {
+        Sink(index);
+        Float(index);
+    }
+
+    /**
+     * Drops every lazily removed item from storage and rebuilds the heap from the remaining items.
+     */
+    private void Compact ()
+    {
+        ArrayList<Type> liveItems = LiveItems();
+        Tombstones.clear();
+        NumTombstones = 0;
+        Elems = liveItems;
+        Size = liveItems.size();
+        if (Positions != null)
+        {
+            Positions.clear();
+            for (int i = 0; i < Size; i++)
+            {
+                Index(Elems.get(i), i);
+            }
+        }
+        /* Sink every item that has children, from the bottom up. */
+        for (int i = ParentIndex(LastItem()); i >= 0 && Size > 1; i--)
+        {
+            Sink(i);
+        }
+    }
+
+    /**
+     * Collects the stored items that have not been lazily removed. Where an item is stored more than once, only as
+     * many copies are left out as were removed.
+     * @return the live items, in storage order.
+     */
+    private ArrayList<Type> LiveItems ()
+    {
+        IdentityHashMap<Type, Integer> toSkip = new IdentityHashMap<Type, Integer>(Tombstones);
+        ArrayList<Type> liveItems = new ArrayList<Type>(Size - NumTombstones);
+        for (int i = 0; i < Size; i++)
+        {
+            Type item = Elems.get(i);
+            Integer skips = toSkip.get(item);
+            if (skips == null)
+            {
+                liveItems.add(item);
+            }
+            else if (skips == 1)
+            {
+                toSkip.remove(item);
+            }
+            else
+            {
+                toSkip.put(item, skips - 1);
+            }
+        }
+        return liveItems;
+    }
+
+    /**
+     * Uses up one lazy removal of the given item, if it has any, as a stored copy of it is discarded.
+     * @param item the item whose stored copy is being discarded.
+     * @return true if a removal was used up and the copy should be discarded, false if the copy is live.
+     */
+    private boolean ConsumeTombstone (Type item)
+    {
+        Integer count = Tombstones.get(item);
+        if (count == null)
+        {
+            return false;
+        }
+        if (count == 1)
+        {
+            Tombstones.remove(item);
+        }
+        else
+        {
+            Tombstones.put(item, count - 1);
+        }
+        NumTombstones--;
+        return true;
+    }
+
+    /**
+     * Counts the stored copies of the given item that have not been lazily removed.
+     * @param item the item to count.
+     * @return the number of live copies of the item.
+     */
+    private int LiveCopies (Type item)
+    {
+        int copies = 0;
+        if (Positions != null)
+        {
+            copies = Positions.containsKey(item) ? 1 : 0;
+        }
+        else
+        {
+            for (int i = 0; i < Size; i++)
+            {
+                if (Elems.get(i) == item)
+                {
+                    copies++;
+                }
+            }
+        }
+        return copies - Tombstones.getOrDefault(item, 0);
+    }
+
+    /**
+     * Finds the index of the given item, matched by identity.
+     * @param item the item to look for.
+     * @return the index of the item, or a negative number if it is not stored in the binary heap.
+     */
+    private int IndexOf (Type item)
+    {
+        if (Positions != null)
+        {
+            Integer index = Positions.get(item);
+            return index == null ? -1 : index;
+        }
+        for (int i = 0; i < Size; i++)
+        {
+            if (Elems.get(i) == item)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Records the index of an item in the position index, if it is enabled.
+     * @param item the item to record.
+     * @param index the item's index.
+     */
+    private void Index (Type item, int index)
+    {
+        if (Positions != null)
+        {
+            Positions.put(item, index);
+        }
+    }
+
+    /**
+     * Drops an item from the position index, if it is enabled.
+     * @param item the item to drop.
+     */
+    private void Unindex (Type item)
+    {
+        if (Positions != null)
+        {
+            Positions.remove(item);
+        }
+    }
+
+    /**
+     * Places an item at the given index, keeping the position index up to date.
+     * @param index the index to place the item at.
+     * @param item the item to place.
+     */
+    private void SetItem (int index, Type item)
+    {
+        Elems.set(index, item);
+        Index(item, index);
+    }
+
+    /**
+     * Pops the top item by walking its hole down to a leaf and floating the last item back up from there. Items are
+     * moved into the hole directly rather than swapped, and the heap must not be empty.
+     * @return the topmost element of the binary heap.
+     */
+    private Type PopBottomUp ()
+    {
+        Type topItem = Elems.get(0);
+        Type lastItem = Elems.get(LastItem());
+        Size--;
+        /* Walk the hole down to a leaf, always moving the higher-ranking child up into it. */
+        int hole = 0;
+        int child = 1;
+        while (child < Size)
+        {
+            if (child + 1 < Size && RanksHigher(Elems.get(child + 1), Elems.get(child)))
+            {
+                child++;
+            }
+            SetItem(hole, Elems.get(child));
+            hole = child;
+            child = (2 * hole) + 1;
+        }
+        /* Float the last item up from the leaf hole until its parent ranks no lower than it. */
+        while (hole > 0)
+        {
+            int parent = ParentIndex(hole);
+            if (!RanksHigher(lastItem, Elems.get(parent)))
+            {
+                break;
+            }
+            SetItem(hole, Elems.get(parent));
+            hole = parent;
+        }
+        Unindex(topItem);
+        if (Size > 0)
+        {
+            SetItem(hole, lastItem);
+        }
+        return topItem;
+    }
+
     /**
      * Checks whether the given index points to an item in the binary heap.
      * @param index the index to check for validity.
@@ -313,8 +767,8 @@ public class BinaryHeap<Type extends Comparable<Type>> extends Heap<Type>
         if (IsValidIndex(firstIndex) && IsValidIndex(secondIndex))
         {
             Type firstItem = ItemAt(firstIndex);
-            Elems.set(firstIndex, ItemAt(secondIndex));
-            Elems.set(secondIndex, firstItem);
+            SetItem(firstIndex, ItemAt(secondIndex));
+            SetItem(secondIndex, firstItem);
         }
         else
         {
@@ -0,0 +1,400 @@
+/**
+ * @author Rob Thomas
+ * A binary heap whose items are stored in a blocked (B-heap) layout. The heap's tree is cut into subtrees of a fixed
+ * number of levels, and each subtree is stored contiguously in its own block of the backing array. A Sink() or
+ * Float() therefore touches one block per several levels rather than a new region of memory at every level, which
+ * keeps very large heaps from missing the cache and TLB on each step.
+ */
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+
+public class BlockedBinaryHeap<Type extends Comparable<Type>> extends Heap<Type>
+{
+    /* * * * * PUBLIC API * * * * */
+
+    /**
+     * The number of tree levels stored in each block when none is given. A block of 2^9 - 1 references fits in
+     * a 4KB page with compressed references.
+     */
+    public static final int DEFAULT_LEVELS_PER_BLOCK = 9;
+
+    /**
+     * Constructs an empty BlockedBinaryHeap.
+     */
+    public BlockedBinaryHeap ()
+    {
+        this(DEFAULT_LEVELS_PER_BLOCK);
+    }
+
+    /**
+     * Constructs an empty BlockedBinaryHeap using the given Comparator.
+     * @param comparer the comparator method to use for comparing items in the heap.
+     */
+    public BlockedBinaryHeap (Comparator<Type> comparer)
+    {
+        this(comparer, DEFAULT_LEVELS_PER_BLOCK);
+    }
+
+    /**
+     * Constructs an empty BlockedBinaryHeap whose blocks each hold the given number of tree levels.
+     * @param levelsPerBlock the number of tree levels stored in each block.
+     * @throws IllegalArgumentException when levelsPerBlock is not between 1 and 30.
+     */
+    public BlockedBinaryHeap (int levelsPerBlock)
+    {
+        this(null, levelsPerBlock);
+    }
+
+    /**
+     * Constructs an empty BlockedBinaryHeap using the given Comparator, whose blocks each hold the given number
+     * of tree levels.
+     * @param comparer the comparator method to use for comparing items in the heap.
+     * @param levelsPerBlock the number of tree levels stored in each block.
+     * @throws IllegalArgumentException when levelsPerBlock is not between 1 and 30.
+     */
+    public BlockedBinaryHeap (Comparator<Type> comparer, int levelsPerBlock)
+    {
+        if (levelsPerBlock < 1 || levelsPerBlock > 30)
+        {
+            throw new IllegalArgumentException(String.format("Invalid number of levels per block: %d.", levelsPerBlock));
+        }
+        Size = 0;
+        Comparer = comparer == null ? DefaultComparer : comparer;
+        Elems = new ArrayList<Type>();
+        LevelsPerBlock = levelsPerBlock;
+        BlockSize = (1 << levelsPerBlock) - 1;
+        FirstLeaf = BlockSize / 2;
+    }
+
+    /**
+     * Gets the number of items in this heap.
+     * @return the number of items in this heap.
+     */
+    @Override
+    public int GetSize ()
+    {
+        return Size;
+    }
+
+    /**
+     * Reports whether or not this heap is empty.
+     * @return true if this heap is empty, false otherwise.
+     */
+    @Override
+    public boolean IsEmpty ()
+    {
+        return Size == 0;
+    }
+
+    /**
+     * Gets the Comparator used to compare items in the heap.
+     * @return this heap's Comparator.
+     */
+    public Comparator<Type> GetComparator ()
+    {
+        return Comparer;
+    }
+
+    /**
+     * Gets the number of tree levels stored in each block.
+     * @return the number of tree levels per block.
+     */
+    public int GetLevelsPerBlock ()
+    {
+        return LevelsPerBlock;
+    }
+
+    /**
+     * Adds a new item to the heap.
+     * @param item the item to add to the heap.
+     */
+    @Override
+    public void Push (Type item)
+    {
+        /* Add the item at the next free space. */
+        if (Size < Elems.size())
+        {
+            Elems.set(Size, item);
+        }
+        else
+        {
+            Elems.add(item);
+        }
+        Size++;
+        /* Float the new item. */
+        Float(Size - 1);
+    }
+
+    /**
+     * Pops off the top element of the heap, removing it.
+     * @return the topmost element of the heap.
+     * @throws IndexOutOfBoundsException when called on an empty heap.
+     */
+    @Override
+    public Type Pop ()
+    {
+        if (IsEmpty())
+        {
+            throw new IndexOutOfBoundsException("Tried to pop from an empty heap.");
+        }
+        Type topItem = Elems.get(0);
+        /* Move the last item to the top, release its old slot, and sink it. */
+        Size--;
+        Type lastItem = Elems.get(Size);
+        Elems.set(Size, null);
+        if (Size > 0)
+        {
+            Elems.set(0, lastItem);
+            Sink(0);
+        }
+        return topItem;
+    }
+
+    /**
+     * Peeks at the top item in the heap.
+     * @return the item that would be returned by the next call to Pop().
+     * @throws IndexOutOfBoundsException when called on an empty heap.
+     */
+    @Override
+    public Type Peek ()
+    {
+        if (IsEmpty())
+        {
+            throw new IndexOutOfBoundsException("Tried to peek at an empty heap.");
+        }
+        return Elems.get(0);
+    }
+
+    /**
+     * Verifies that two items follow the heap's invariant - that the earlier popped item is sorted before or
+     * alongside the later popped item by the heap's underlying comparator.
+     * @param earlierItem an item popped earlier from the heap.
+     * @param laterItem an item popped later from the heap.
+     * @return true if earlierItem would be sorted before laterItem.
+     */
+    public boolean ItemsFollowHeapComparator (Type earlierItem, Type laterItem)
+    {
+        return GetComparator().compare(earlierItem, laterItem) <= 0;
+    }
+
+    /**
+     * Determines whether or not this heap's items are correctly ordered to follow the underlying ordering.
+     * @return true if this heap's items are correctly ordered, false otherwise.
+     */
+    @Override
+    public boolean ItemsAreInOrder ()
+    {
+        for (int i = 1; i < Size; i++)
+        {
+            if (RanksHigher(Elems.get(i), Elems.get(ParentIndex(i))))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts this heap to a string representation. This string will be a sequence of items in the order they are
+     * stored in the backing array, block by block.
+     * @return a string representing this heap.
+     */
+    public String toString ()
+    {
+        StringBuilder str = new StringBuilder();
+        str.append("[ ");
+        for (int i = 0; i < Size; i++)
+        {
+            str.append(Elems.get(i)).append(" ");
+        }
+        str.append("]");
+        return str.toString();
+    }
+
+    /**
+     * Clones this heap, yielding a separate BlockedBinaryHeap object whose contents and properties are identical to
+     * this one's.
+     * @return a clone of this heap.
+     */
+    @Override
+    public BlockedBinaryHeap<Type> clone ()
+    {
+        BlockedBinaryHeap<Type> clone = new BlockedBinaryHeap<Type>(Comparer, LevelsPerBlock);
+        clone.Elems.addAll(Elems.subList(0, Size));
+        clone.Size = Size;
+        return clone;
+    }
+
+    @Override
+    public Iterator<Type> iterator ()
+    {
+        BlockedBinaryHeap<Type> clone = clone();
+        return new Iterator<Type>()
+        {
+            @Override
+            public boolean hasNext ()
+            {
+                return !clone.IsEmpty();
+            }
+
+            @Override
+            public Type next ()
+            {
+                return clone.Pop();
+            }
+        };
+    }
+
+    /* * * * * PRIVATE FIELDS * * * * */
+
+    private int Size = 0;
+    private ArrayList<Type> Elems;
+    private Comparator<Type> Comparer;
+    private final int LevelsPerBlock;
+    /* The number of items in a full block: a complete subtree of LevelsPerBlock levels. */
+    private final int BlockSize;
+    /* The in-block position of a block's first leaf. */
+    private final int FirstLeaf;
+    private final Comparator<Type> DefaultComparer = new Comparator<Type>()
+    {
+        @Override
+        public int compare(Type o1, Type o2)
+        {
+            return o1.compareTo(o2);
+        }
+    };
+
+    /* * * * * PRIVATE METHODS * * * * */
+
+    /**
+     * Floats up the item at the given index, putting it in its proper position upward.
+     * @param index the index in the heap of the item to float.
+     */
+    private void Float (int index)
+    {
+        Type item = Elems.get(index);
+        while (index > 0)
+        {
+            int parent = ParentIndex(index);
+            Type parentItem = Elems.get(parent);
+            if (!RanksHigher(item, parentItem))
+            {
+                break;
+            }
+            Elems.set(index, parentItem);
+            index = parent;
+        }
+        Elems.set(index, item);
+    }
+
+    /**
+     * Sinks down the item at the given index, putting it in its proper position downward.
+     * @param index the index in the heap of the item to sink.
+     */
+    private void Sink (int index)
+    {
+        Type item = Elems.get(index);
+        while (true)
+        {
+            int child = LeftChild(index);
+            if (child >= Size)
+            {
+                break;
+            }
+            /* A right child is only absent when it falls past the end of the heap. */
+            int rightChild = RightChild(index);
+            if (rightChild < Size && RanksHigher(Elems.get(rightChild), Elems.get(child)))
+            {
+                child = rightChild;
+            }
+            Type childItem = Elems.get(child);
+            if (!RanksHigher(childItem, item))
+            {
+                break;
+            }
+            Elems.set(index, childItem);
+            index = child;
+        }
+        Elems.set(index, item);
+    }
+
+    /**
+     * Gets the index of the parent of the item at the given index. Block roots find their parent among the leaves of
+     * their parent block; every other item finds it within its own block.
+     * @param childIndex the index of the item whose parent will be found. Must be positive.
+     * @return the index of the item's parent.
+     */
+    private int ParentIndex (int childIndex)
+    {
+        int block = childIndex / BlockSize;
+        int offset = childIndex % BlockSize;
+        if (offset > 0)
+        {
+            return (block * BlockSize) + ((offset - 1) / 2);
+        }
+        /* Each block has 2^LevelsPerBlock child blocks, two per leaf. */
+        int parentBlock = (block - 1) >>> LevelsPerBlock;
+        int childSlot = (block - 1) - (parentBlock << LevelsPerBlock);
+        return (parentBlock * BlockSize) + FirstLeaf + (childSlot / 2);
+    }
+
+    /**
+     * Gets the index of the left child of the item at the given index. Block leaves have their children at the roots
+     * of child blocks; every other item has them within its own block. The index may lie past the end of the heap,
+     * in which case the item has no left child.
+     * @param parentIndex the index of the item whose left child will be found.
+     * @return the index of the item's left child.
+     */
+    private int LeftChild (int parentIndex)
+    {
+        int block = parentIndex / BlockSize;
+        int offset = parentIndex % BlockSize;
+        if (offset < FirstLeaf)
+        {
+            return (block * BlockSize) + (2 * offset) + 1;
+        }
+        long childBlock = ((long)block << LevelsPerBlock) + 1 + (2L * (offset - FirstLeaf));
+        return (int)Math.min(childBlock * BlockSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the index of the right child of the item at the given index. See LeftChild().
+     * @param parentIndex the index of the item whose right child will be found.
+     * @return the index of the item's right child.
+     */
+    private int RightChild (int parentIndex)
+    {
+        int block = parentIndex / BlockSize;
+        int offset = parentIndex % BlockSize;
+        if (offset < FirstLeaf)
+        {
+            return (block * BlockSize) + (2 * offset) + 2;
+        }
+        long childBlock = ((long)block << LevelsPerBlock) + 2 + (2L * (offset - FirstLeaf));
+        return (int)Math.min(childBlock * BlockSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Compares two items based on the established Comparator.
+     * @param a the first item to compare.
+     * @param b the second item to compare.
+     * @return the result of the comparison.
+     */
+    private int Compare (Type a, Type b)
+    {
+        return Comparer.compare(a, b);
+    }
+
+    /**
+     * Determines whether one item should come before another in the heap.
+     * @param attacker the item that might rank higher.
+     * @param defender the item to compare to.
+     * @return true if attacker ranks higher than defender. false otherwise.
+     */
+    private boolean RanksHigher (Type attacker, Type defender)
+    {
+        return Compare(attacker, defender) < 0;
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * @author Rob Thomas
+ * Measures BlockedBinaryHeap against the plain array layout across heap sizes, to find where the blocked layout starts
+ * to pay off on a given machine. Run from the command line as
+ *     java BlockedBinaryHeapBenchmark [size ...]
+ * Each size is filled with random Integers, then timed over a run of steady-state Pop() + Push() pairs for every
+ * entry of LEVELS_PER_BLOCK; a levelsPerBlock of 1 is the plain layout. The best of several runs is reported, in
+ * nanoseconds per pair. Large sizes need a large heap, e.g. -Xmx4g for 50,000,000 items.
+ */
+
+import java.util.Random;
+
+public class BlockedBinaryHeapBenchmark
+{
+    /* * * * * PUBLIC API * * * * */
+
+    /**
+     * The heap sizes measured when none are given on the command line.
+     */
+    public static final int[] DEFAULT_SIZES = { 10000, 100000, 1000000, 10000000 };
+
+    /**
+     * The block heights compared at each size.
+     */
+    public static final int[] LEVELS_PER_BLOCK = { 1, 4, 9 };
+
+    /**
+     * The number of Pop() + Push() pairs timed in each run.
+     */
+    public static final int OPERATIONS = 2000000;
+
+    /**
+     * The number of timed runs per heap; the fastest is reported.
+     */
+    public static final int RUNS = 5;
+
+    /**
+     * Measures a heap of the given size and block height.
+     * @param size the number of items kept in the heap.
+     * @param levelsPerBlock the number of tree levels stored in each block.
+     * @param seed the seed for the random items.
+     * @return the fastest run's time per Pop() + Push() pair, in nanoseconds.
+     */
+    public static double Measure (int size, int levelsPerBlock, long seed)
+    {
+        /* Box every item up front, so that the timed runs only measure the heap. */
+        Random random = new Random(seed);
+        Integer[] items = new Integer[size + OPERATIONS];
+        for (int i = 0; i < items.length; i++)
+        {
+            items[i] = random.nextInt();
+        }
+        BlockedBinaryHeap<Integer> heap = new BlockedBinaryHeap<Integer>(levelsPerBlock);
+        for (int i = 0; i < size; i++)
+        {
+            heap.Push(items[i]);
+        }
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++)
+        {
+            long start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++)
+            {
+                heap.Pop();
+                heap.Push(items[size + i]);
+            }
+            best = Math.min(best, (double)(System.nanoTime() - start) / OPERATIONS);
+        }
+        return best;
+    }
+
+    /**
+     * Measures every block height at each of the given sizes and prints a table of the results.
+     * @param args the heap sizes to measure; DEFAULT_SIZES when none are given.
+     */
+    public static void main (String[] args)
+    {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0)
+        {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++)
+            {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        System.out.printf("%12s", "items");
+        for (int levelsPerBlock : LEVELS_PER_BLOCK)
+        {
+            System.out.printf("%12s", levelsPerBlock + " levels");
+        }
+        System.out.println("    (ns per Pop() + Push())");
+        for (int size : sizes)
+        {
+            System.out.printf("%,12d", size);
+            for (int levelsPerBlock : LEVELS_PER_BLOCK)
+            {
+                System.out.printf("%12.0f", Measure(size, levelsPerBlock, size));
+            }
+            System.out.println();
+        }
+    }
+}
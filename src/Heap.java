@@ -41,6 +41,13 @@ public abstract class Heap<Type extends Comparable<Type>> extends PriorityQueue<
      */
     public abstract Type Pop ();
 
+    /**
+     * Peeks at the top element of the Heap without removing it.
+     * @return the item that would be returned by the next call to Pop().
+     * @throws IndexOutOfBoundsException when called on an empty Heap.
+     */
+    public abstract Type Peek ();
+
     /**
      * Gets the number of items in this Heap.
      * @return the number of items in this Heap.
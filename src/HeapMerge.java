@@ -0,0 +1,124 @@
+/**
+ * @author Rob Thomas
+ * Merges several sorted sources into one sorted sequence using a BinaryHeap of source heads. After an item is taken,
+ * the winning source's next item replaces it at the top with BinaryHeap.ReplaceTop(), which costs a single sink
+ * rather than a Pop() and a Push(). LoserTreeMerge needs fewer comparisons per item; this is the fallback for code
+ * that would rather reuse the heap. Items that tie are taken from the earlier source first.
+ */
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class HeapMerge<Type extends Comparable<Type>> implements Iterator<Type>
+{
+    /* * * * * PUBLIC API * * * * */
+
+    /**
+     * Constructs a HeapMerge over the given sources, ordered by their items' natural ordering.
+     * @param sources the sources to merge, each already sorted.
+     */
+    public HeapMerge (List<? extends Iterator<Type>> sources)
+    {
+        this(sources, null);
+    }
+
+    /**
+     * Constructs a HeapMerge over the given sources using the given Comparator.
+     * @param sources the sources to merge, each already sorted by comparer.
+     * @param comparer the comparator method to use for comparing items from the sources.
+     */
+    public HeapMerge (List<? extends Iterator<Type>> sources, Comparator<Type> comparer)
+    {
+        Comparer = comparer == null ? Comparator.<Type>naturalOrder() : comparer;
+        Heads = new BinaryHeap<Head>();
+        for (int i = 0; i < sources.size(); i++)
+        {
+            Iterator<Type> source = sources.get(i);
+            if (source.hasNext())
+            {
+                Heads.Push(new Head(source, i));
+            }
+        }
+    }
+
+    /**
+     * Reports whether or not any source has items left.
+     * @return true if there are items left to merge, false otherwise.
+     */
+    @Override
+    public boolean hasNext ()
+    {
+        return !Heads.IsEmpty();
+    }
+
+    /**
+     * Takes the next item in merged order.
+     * @return the lowest remaining item across all sources.
+     * @throws NoSuchElementException when every source is exhausted.
+     */
+    @Override
+    public Type next ()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("Tried to take an item from an exhausted merge.");
+        }
+        Head top = Heads.Peek();
+        Type item = top.Item;
+        /* Reuse the top head for the source's next item, or drop it when the source runs dry. */
+        if (top.Source.hasNext())
+        {
+            top.Item = top.Source.next();
+            Heads.ReplaceTop(top);
+        }
+        else
+        {
+            Heads.Pop();
+        }
+        return item;
+    }
+
+    /**
+     * Wraps the remaining merged items in a sequential Stream.
+     * @return a Stream of the items left to merge, in merged order.
+     */
+    public Stream<Type> ToStream ()
+    {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false);
+    }
+
+    /* * * * * PRIVATE FIELDS * * * * */
+
+    private final BinaryHeap<Head> Heads;
+    private final Comparator<Type> Comparer;
+
+    /**
+     * The current head item of one source, ordered by the merge's Comparator and then by source position.
+     */
+    private class Head implements Comparable<Head>
+    {
+        Type Item;
+        final Iterator<Type> Source;
+        final int Position;
+
+        Head (Iterator<Type> source, int position)
+        {
+            Source = source;
+            Position = position;
+            Item = source.next();
+        }
+
+        @Override
+        public int compareTo (Head other)
+        {
+            int comparison = Comparer.compare(Item, other.Item);
+            return comparison != 0 ? comparison : Integer.compare(Position, other.Position);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * @author Rob Thomas
+ * A heap trace loaded into memory, as written by HeapTraceWriter. Operations are held in parallel arrays of opcodes
+ * and keys so that a replay can walk them without touching the file or allocating.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class HeapTrace
+{
+    /* * * * * PUBLIC API * * * * */
+
+    /**
+     * Reads a trace file into memory.
+     * @param path the trace file to read.
+     * @return the loaded trace.
+     * @throws IOException when the file cannot be read or is not a valid trace.
+     */
+    public static HeapTrace Read (Path path) throws IOException
+    {
+        try (InputStream stream = Files.newInputStream(path))
+        {
+            return Read(stream);
+        }
+    }
+
+    /**
+     * Reads a trace from the given stream until the stream ends.
+     * @param stream the stream to read the trace from.
+     * @return the loaded trace.
+     * @throws IOException when the stream cannot be read or does not hold a valid trace.
+     */
+    public static HeapTrace Read (InputStream stream) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != HeapTraceWriter.MAGIC)
+        {
+            throw new IOException("Tried to read a heap trace with an invalid header.");
+        }
+        byte version = in.readByte();
+        if (version != HeapTraceWriter.VERSION)
+        {
+            throw new IOException(String.format("Tried to read a heap trace of unsupported version %d.", version));
+        }
+        HeapTrace trace = new HeapTrace();
+        int opcode;
+        while ((opcode = in.read()) >= 0)
+        {
+            long key = 0;
+            if (opcode == HeapTraceWriter.PUSH)
+            {
+                key = ReadKey(in);
+            }
+            else if (opcode != HeapTraceWriter.POP && opcode != HeapTraceWriter.PEEK)
+            {
+                throw new IOException(String.format("Tried to read a heap trace with an invalid opcode %d.", opcode));
+            }
+            trace.Add((byte)opcode, key);
+        }
+        return trace;
+    }
+
+    /**
+     * Gets the number of operations in the trace.
+     * @return the number of operations.
+     */
+    public int GetLength ()
+    {
+        return Length;
+    }
+
+    /**
+     * Gets the opcode of the operation at the given position.
+     * @param index the position of the operation.
+     * @return one of HeapTraceWriter.PUSH, POP or PEEK.
+     */
+    public byte GetOpcode (int index)
+    {
+        return Opcodes[index];
+    }
+
+    /**
+     * Gets the key pushed by the operation at the given position.
+     * @param index the position of the operation.
+     * @return the pushed key, or 0 if the operation is not a Push.
+     */
+    public long GetKey (int index)
+    {
+        return Keys[index];
+    }
+
+    /**
+     * Counts the operations in the trace with the given opcode.
+     * @param opcode the opcode to count.
+     * @return the number of operations with that opcode.
+     */
+    public int Count (byte opcode)
+    {
+        int count = 0;
+        for (int i = 0; i < Length; i++)
+        {
+            if (Opcodes[i] == opcode)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /* * * * * PRIVATE FIELDS * * * * */
+
+    private byte[] Opcodes = new byte[1024];
+    private long[] Keys = new long[1024];
+    private int Length = 0;
+
+    /* * * * * PRIVATE METHODS * * * * */
+
+    /**
+     * Constructs an empty HeapTrace, to be filled by Read().
+     */
+    private HeapTrace ()
+    {
+    }
+
+    /**
+     * Appends an operation to the trace.
+     * @param opcode the operation's opcode.
+     * @param key the operation's key.
+     */
+    private void Add (byte opcode, long key)
+    {
+        if (Length == Opcodes.length)
+        {
+            Opcodes = Arrays.copyOf(Opcodes, Length * 2);
+            Keys = Arrays.copyOf(Keys, Length * 2);
+        }
+        Opcodes[Length] = opcode;
+        Keys[Length] = key;
+        Length++;
+    }
+
+    /**
+     * Reads a zigzag-encoded variable length key.
+     * @param in the stream to read from.
+     * @return the decoded key.
+     * @throws IOException when the stream ends mid-key or the key is too long.
+     */
+    private static long ReadKey (DataInputStream in) throws IOException
+    {
+        long bits = 0;
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            int next = in.read();
+            if (next < 0)
+            {
+                throw new EOFException("Tried to read a heap trace that ends partway through a key.");
+            }
+            bits |= (long)(next & 0x7F) << shift;
+            if ((next & 0x80) == 0)
+            {
+                return (bits >>> 1) ^ -(bits & 1);
+            }
+        }
+        throw new IOException("Tried to read a heap trace with an overlong key.");
+    }
+}
@@ -0,0 +1,238 @@
+/**
+ * @author Rob Thomas
+ * Replays a recorded HeapTrace against Heap implementations and measures how each performs: throughput, per-operation
+ * latency percentiles, and bytes allocated per operation. Run from the command line as
+ *     java HeapTraceReplay trace-file [implementation ...]
+ * where each implementation is one of the names in IMPLEMENTATIONS; all of them are replayed when none is given.
+ * Per-operation latencies include the cost of reading the clock, which matters for the fastest operations.
+ */
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class HeapTraceReplay
+{
+    /* * * * * PUBLIC API * * * * */
+
+    /**
+     * The Heap implementations that can be chosen by name from the command line.
+     */
+    public static final Map<String, Supplier<Heap<Long>>> IMPLEMENTATIONS = new LinkedHashMap<String, Supplier<Heap<Long>>>();
+
+    static
+    {
+        IMPLEMENTATIONS.put("binary", () -> new BinaryHeap<Long>());
+        IMPLEMENTATIONS.put("binary-bottom-up", () -> {
+            BinaryHeap<Long> heap = new BinaryHeap<Long>();
+            heap.SetBottomUpPop(true);
+            return heap;
+        });
+        IMPLEMENTATIONS.put("blocked", () -> new BlockedBinaryHeap<Long>());
+        IMPLEMENTATIONS.put("keyed", () -> new KeyedBinaryHeap<Long>(Long::longValue));
+    }
+
+    /**
+     * The measurements taken while replaying a trace against one heap.
+     */
+    public static class Result
+    {
+        /**
+         * Constructs a Result from a replay's raw measurements.
+         * @param name the name of the replayed heap.
+         * @param totalNanos the time the whole replay took, in nanoseconds.
+         * @param latencies the time each operation took, in nanoseconds. This array is sorted in place.
+         * @param allocatedBytes the bytes allocated during the replay, or a negative number if unknown.
+         */
+        Result (String name, long totalNanos, long[] latencies, long allocatedBytes)
+        {
+            Name = name;
+            TotalNanos = totalNanos;
+            Latencies = latencies;
+            Arrays.sort(Latencies);
+            AllocatedBytes = allocatedBytes;
+        }
+
+        /**
+         * Gets the name of the replayed heap.
+         * @return the heap's name.
+         */
+        public String GetName ()
+        {
+            return Name;
+        }
+
+        /**
+         * Gets the number of operations replayed.
+         * @return the number of operations.
+         */
+        public int GetNumOperations ()
+        {
+            return Latencies.length;
+        }
+
+        /**
+         * Gets the replay's throughput.
+         * @return the operations replayed per second.
+         */
+        public double GetOperationsPerSecond ()
+        {
+            return TotalNanos == 0 ? 0 : Latencies.length * 1e9 / TotalNanos;
+        }
+
+        /**
+         * Gets a percentile of the per-operation latencies.
+         * @param percentile the percentile to get, between 0 and 100.
+         * @return the latency at that percentile, in nanoseconds, or 0 if no operations were replayed.
+         */
+        public long GetLatencyPercentile (double percentile)
+        {
+            if (Latencies.length == 0)
+            {
+                return 0;
+            }
+            int index = (int)Math.ceil(percentile / 100 * Latencies.length) - 1;
+            return Latencies[Math.max(0, Math.min(index, Latencies.length - 1))];
+        }
+
+        /**
+         * Gets the average number of bytes allocated per operation.
+         * @return the bytes allocated per operation, or a negative number if the JVM cannot measure allocation.
+         */
+        public double GetBytesPerOperation ()
+        {
+            if (AllocatedBytes < 0)
+            {
+                return -1;
+            }
+            return Latencies.length == 0 ? 0 : (double)AllocatedBytes / Latencies.length;
+        }
+
+        /**
+         * Converts this Result to a single line of its measurements.
+         * @return a string summarizing this Result.
+         */
+        public String toString ()
+        {
+            return String.format("%-18s %12.0f ops/s  p50 %6d ns  p90 %6d ns  p99 %6d ns  p99.9 %7d ns  max %9d ns  %7.1f B/op",
+                                 Name, GetOperationsPerSecond(), GetLatencyPercentile(50), GetLatencyPercentile(90),
+                                 GetLatencyPercentile(99), GetLatencyPercentile(99.9), GetLatencyPercentile(100),
+                                 GetBytesPerOperation());
+        }
+
+        private final String Name;
+        private final long TotalNanos;
+        private final long[] Latencies;
+        private final long AllocatedBytes;
+    }
+
+    /**
+     * Replays a trace against a fresh heap. Pushed keys are boxed before the replay starts, so the allocation
+     * measured is the heap's own.
+     * @param trace the trace to replay.
+     * @param name the name to report the heap under.
+     * @param factory makes the heap to replay against.
+     * @return the measurements taken during the replay.
+     */
+    public static Result Replay (HeapTrace trace, String name, Supplier<Heap<Long>> factory)
+    {
+        int length = trace.GetLength();
+        Long[] items = new Long[length];
+        for (int i = 0; i < length; i++)
+        {
+            if (trace.GetOpcode(i) == HeapTraceWriter.PUSH)
+            {
+                items[i] = Long.valueOf(trace.GetKey(i));
+            }
+        }
+        long[] latencies = new long[length];
+        Heap<Long> heap = factory.get();
+        long checksum = 0;
+
+        long startBytes = AllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < length; i++)
+        {
+            long opStart = System.nanoTime();
+            switch (trace.GetOpcode(i))
+            {
+                case HeapTraceWriter.PUSH:
+                    heap.Push(items[i]);
+                    break;
+                case HeapTraceWriter.POP:
+                    checksum += heap.Pop();
+                    break;
+                default:
+                    checksum += heap.Peek();
+                    break;
+            }
+            latencies[i] = System.nanoTime() - opStart;
+        }
+        long totalNanos = System.nanoTime() - start;
+        long endBytes = AllocatedBytes();
+
+        /* Keep the popped values live so the replay cannot be optimized away. */
+        Checksum += checksum;
+        return new Result(name, totalNanos, latencies, startBytes < 0 ? -1 : endBytes - startBytes);
+    }
+
+    /**
+     * Replays a trace file against the named heap implementations and prints each one's measurements.
+     * @param args the trace file, followed by the names of the implementations to replay.
+     * @throws IOException when the trace file cannot be read.
+     */
+    public static void main (String[] args) throws IOException
+    {
+        if (args.length < 1)
+        {
+            System.err.println("Usage: java HeapTraceReplay trace-file [implementation ...]");
+            System.err.println("Implementations: " + String.join(", ", IMPLEMENTATIONS.keySet()));
+            System.exit(1);
+        }
+        HeapTrace trace = HeapTrace.Read(Paths.get(args[0]));
+        System.out.printf("%d operations: %d pushes, %d pops, %d peeks%n", trace.GetLength(),
+                          trace.Count(HeapTraceWriter.PUSH), trace.Count(HeapTraceWriter.POP),
+                          trace.Count(HeapTraceWriter.PEEK));
+        String[] names = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length)
+                                         : IMPLEMENTATIONS.keySet().toArray(new String[0]);
+        for (String name : names)
+        {
+            Supplier<Heap<Long>> factory = IMPLEMENTATIONS.get(name);
+            if (factory == null)
+            {
+                throw new IllegalArgumentException(String.format("Unknown heap implementation: %s.", name));
+            }
+            /* Replay once to warm up the JIT, then again to measure. */
+            Replay(trace, name, factory);
+            System.out.println(Replay(trace, name, factory));
+        }
+    }
+
+    /* * * * * PRIVATE FIELDS * * * * */
+
+    private static long Checksum = 0;
+
+    /* * * * * PRIVATE METHODS * * * * */
+
+    /**
+     * Gets the total bytes allocated so far by the current thread.
+     * @return the bytes allocated, or a negative number if the JVM cannot measure allocation.
+     */
+    private static long AllocatedBytes ()
+    {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean)
+        {
+            com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean)threads;
+            if (sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled())
+            {
+                return sunThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+}
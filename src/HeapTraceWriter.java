@@ -0,0 +1,166 @@
+/**
+ * @author Rob Thomas
+ * Writes a compact binary trace of heap operations. A trace starts with a four byte magic number and a version byte,
+ * followed by one record per operation: an opcode byte, and for a Push the item's key as a zigzag-encoded variable
+ * length integer, so small keys of either sign take only a byte or two.
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class HeapTraceWriter implements Closeable, Flushable
+{
+    /* * * * * PUBLIC API * * * * */
+
+    /**
+     * Marks the start of a heap trace: the bytes "HPTR".
+     */
+    public static final int MAGIC = 0x48505452;
+
+    /**
+     * The version of the trace format written by this class.
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * The opcode of a recorded Push.
+     */
+    public static final byte PUSH = 0;
+
+    /**
+     * The opcode of a recorded Pop.
+     */
+    public static final byte POP = 1;
+
+    /**
+     * The opcode of a recorded Peek.
+     */
+    public static final byte PEEK = 2;
+
+    /**
+     * Constructs a HeapTraceWriter that writes a new trace file, replacing any existing file.
+     * @param path the file to write the trace to.
+     * @throws IOException when the file cannot be created.
+     */
+    public HeapTraceWriter (Path path) throws IOException
+    {
+        this(Files.newOutputStream(path));
+    }
+
+    /**
+     * Constructs a HeapTraceWriter that writes a trace to the given stream.
+     * @param stream the stream to write the trace to. It is closed when the writer is closed.
+     * @throws IOException when the trace header cannot be written.
+     */
+    public HeapTraceWriter (OutputStream stream) throws IOException
+    {
+        Out = new DataOutputStream(new BufferedOutputStream(stream));
+        Out.writeInt(MAGIC);
+        Out.writeByte(VERSION);
+    }
+
+    /**
+     * Records a Push of an item with the given key.
+     * @param key the pushed item's key.
+     * @throws UncheckedIOException when the record cannot be written.
+     */
+    public void RecordPush (long key)
+    {
+        try
+        {
+            Out.writeByte(PUSH);
+            /* Zigzag-encode the key so that negative keys near zero stay short, then write it 7 bits at a time. */
+            long bits = (key << 1) ^ (key >> 63);
+            while ((bits & ~0x7FL) != 0)
+            {
+                Out.writeByte((int)((bits & 0x7F) | 0x80));
+                bits >>>= 7;
+            }
+            Out.writeByte((int)bits);
+            NumRecords++;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Records a Pop.
+     * @throws UncheckedIOException when the record cannot be written.
+     */
+    public void RecordPop ()
+    {
+        RecordOpcode(POP);
+    }
+
+    /**
+     * Records a Peek.
+     * @throws UncheckedIOException when the record cannot be written.
+     */
+    public void RecordPeek ()
+    {
+        RecordOpcode(PEEK);
+    }
+
+    /**
+     * Gets the number of operations recorded so far.
+     * @return the number of records written.
+     */
+    public long GetNumRecords ()
+    {
+        return NumRecords;
+    }
+
+    /**
+     * Writes any buffered records to the underlying stream.
+     * @throws IOException when the records cannot be written.
+     */
+    @Override
+    public void flush () throws IOException
+    {
+        Out.flush();
+    }
+
+    /**
+     * Writes any buffered records and closes the underlying stream.
+     * @throws IOException when the records cannot be written or the stream cannot be closed.
+     */
+    @Override
+    public void close () throws IOException
+    {
+        Out.close();
+    }
+
+    /* * * * * PRIVATE FIELDS * * * * */
+
+    private final DataOutputStream Out;
+    private long NumRecords = 0;
+
+    /* * * * * PRIVATE METHODS * * * * */
+
+    /**
+     * Records an operation that carries no key.
+     * @param opcode the operation's opcode.
+     * @throws UncheckedIOException when the record cannot be written.
+     */
+    private void RecordOpcode (byte opcode)
+    {
+        try
+        {
+            Out.writeByte(opcode);
+            NumRecords++;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/**
+ * @author Rob Thomas
+ * A binary heap that orders its items by a primitive sort key. The key is extracted once when an item is pushed and
+ * kept in an array parallel to the items, so Float() and Sink() compare plain longs instead of calling a Comparator.
+ * Items with lower keys are popped first. Lambdas passed to the constructor need an explicit target type, e.g. a
+ * method reference such as Record::GetPriority or a cast, since they could otherwise match either key type.
+ */
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+public class KeyedBinaryHeap<Type extends Comparable<Type>> extends Heap<Type>
+{
+    /* * * * * PUBLIC API * * * * */
+
+    /**
+     * Constructs an empty KeyedBinaryHeap that orders items by a long key.
+     * @param keyExtractor the function that computes an item's key when it is pushed.
+     */
+    public KeyedBinaryHeap (ToLongFunction<Type> keyExtractor)
+    {
+        Size = 0;
+        KeyExtractor = keyExtractor;
+        Elems = new Object[INITIAL_CAPACITY];
+        Keys = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Constructs an empty KeyedBinaryHeap that orders items by a double key. Keys are stored as longs whose
+     * ordering matches Double.compare(), so comparisons stay primitive.
+     * @param keyExtractor the function that computes an item's key when it is pushed.
+     */
+    public KeyedBinaryHeap (ToDoubleFunction<Type> keyExtractor)
+    {
+        this((ToLongFunction<Type>)(item -> SortableBits(keyExtractor.applyAsDouble(item))));
+    }
+
+    /**
+     * Gets the number of items in this heap.
+     * @return the number of items in this heap.
+     */
+    @Override
+    public int GetSize ()
+    {
+        return Size;
+    }
+
+    /**
+     * Reports whether or not this heap is empty.
+     * @return true if this heap is empty, false otherwise.
+     */
+    @Override
+    public boolean IsEmpty ()
+    {
+        return Size == 0;
+    }
+
+    /**
+     * Adds a new item to the heap, extracting its key.
+     * @param item the item to add to the heap.
+     */
+    @Override
+    public void Push (Type item)
+    {
+        if (Size == Elems.length)
+        {
+            Elems = Arrays.copyOf(Elems, Size * 2);
+            Keys = Arrays.copyOf(Keys, Size * 2);
+        }
+        Size++;
+        Float(Size - 1, item, KeyExtractor.applyAsLong(item));
+    }
+
+    /**
+     * Pops off the top element of the heap, removing it.
+     * @return the topmost element of the heap.
+     * @throws IndexOutOfBoundsException when called on an empty heap.
+     */
+    @Override
+    public Type Pop ()
+    {
+        if (IsEmpty())
+        {
+            throw new IndexOutOfBoundsException("Tried to pop from an empty heap.");
+        }
+        Type topItem = ItemAt(0);
+        /* Take the last item out of its slot and sink it from the top. */
+        Size--;
+        Type lastItem = ItemAt(Size);
+        long lastKey = Keys[Size];
+        Elems[Size] = null;
+        if (Size > 0)
+        {
+            Sink(0, lastItem, lastKey);
+        }
+        return topItem;
+    }
+
+    /**
+     * Peeks at the top item in the heap.
+     * @return the item that would be returned by the next call to Pop().
+     * @throws IndexOutOfBoundsException when called on an empty heap.
+     */
+    @Override
+    public Type Peek ()
+    {
+        if (IsEmpty())
+        {
+            throw new IndexOutOfBoundsException("Tried to peek at an empty heap.");
+        }
+        return ItemAt(0);
+    }
+
+    /**
+     * Determines whether or not this heap's items are correctly ordered by their keys.
+     * @return true if this heap's items are correctly ordered, false otherwise.
+     */
+    @Override
+    public boolean ItemsAreInOrder ()
+    {
+        for (int i = 1; i < Size; i++)
+        {
+            if (Keys[i] < Keys[ParentIndex(i)])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts this heap to a string representation. This string will be a sequence of items in the order they are
+     * stored in the heap, so an item's children are at twice the item's position.
+     * @return a string representing this heap.
+     */
+    public String toString ()
+    {
+        StringBuilder str = new StringBuilder();
+        str.append("[ ");
+        for (int i = 0; i < Size; i++)
+        {
+            str.append(Elems[i]).append(" ");
+        }
+        str.append("]");
+        return str.toString();
+    }
+
+    /**
+     * Clones this heap, yielding a separate KeyedBinaryHeap object whose contents and properties are identical to
+     * this one's. Keys are copied rather than extracted again.
+     * @return a clone of this heap.
+     */
+    @Override
+    public KeyedBinaryHeap<Type> clone ()
+    {
+        KeyedBinaryHeap<Type> clone = new KeyedBinaryHeap<Type>(KeyExtractor);
+        clone.Elems = Arrays.copyOf(Elems, Math.max(Size, INITIAL_CAPACITY));
+        clone.Keys = Arrays.copyOf(Keys, clone.Elems.length);
+        clone.Size = Size;
+        return clone;
+    }
+
+    @Override
+    public Iterator<Type> iterator ()
+    {
+        KeyedBinaryHeap<Type> clone = clone();
+        return new Iterator<Type>()
+        {
+            @Override
+            public boolean hasNext ()
+            {
+                return !clone.IsEmpty();
+            }
+
+            @Override
+            public Type next ()
+            {
+                return clone.Pop();
+            }
+        };
+    }
+
+    /* * * * * PRIVATE FIELDS * * * * */
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int Size = 0;
+    private Object[] Elems;
+    private long[] Keys;
+    private final ToLongFunction<Type> KeyExtractor;
+
+    /* * * * * PRIVATE METHODS * * * * */
+
+    /**
+     * Converts a double into a long whose signed ordering matches Double.compare().
+     * @param key the double to convert.
+     * @return the sortable long form of key.
+     */
+    private static long SortableBits (double key)
+    {
+        long bits = Double.doubleToLongBits(key);
+        /* Negative doubles order backwards as raw bits, so flip everything but their sign bit. */
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Places an item at the given free index and floats it up to its proper position.
+     * @param index the free index to start from.
+     * @param item the item to place.
+     * @param key the item's key.
+     */
+    private void Float (int index, Type item, long key)
+    {
+        while (index > 0)
+        {
+            int parent = ParentIndex(index);
+            if (key >= Keys[parent])
+            {
+                break;
+            }
+            Elems[index] = Elems[parent];
+            Keys[index] = Keys[parent];
+            index = parent;
+        }
+        Elems[index] = item;
+        Keys[index] = key;
+    }
+
+    /**
+     * Places an item at the given free index and sinks it down to its proper position.
+     * @param index the free index to start from.
+     * @param item the item to place.
+     * @param key the item's key.
+     */
+    private void Sink (int index, Type item, long key)
+    {
+        int child = (2 * index) + 1;
+        while (child < Size)
+        {
+            if (child + 1 < Size && Keys[child + 1] < Keys[child])
+            {
+                child++;
+            }
+            if (key <= Keys[child])
+            {
+                break;
+            }
+            Elems[index] = Elems[child];
+            Keys[index] = Keys[child];
+            index = child;
+            child = (2 * index) + 1;
+        }
+        Elems[index] = item;
+        Keys[index] = key;
+    }
+
+    /**
+     * Gets the item at the given index. The index is assumed to be valid.
+     * @param index the index of the item to be returned.
+     * @return the item at the given index.
+     */
+    @SuppressWarnings("unchecked")
+    private Type ItemAt (int index)
+    {
+        return (Type)Elems[index];
+    }
+
+    /**
+     * Gets the index of the parent of the item at the given index.
+     * @param childIndex the index of the item whose parent will be found.
+     * @return the index of the item's parent.
+     */
+    private int ParentIndex (int childIndex)
+    {
+        return (childIndex - 1) / 2;
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * @author Rob Thomas
+ * Merges several ascending sources of longs into one ascending sequence using a tournament (loser) tree. This is the
+ * primitive counterpart of LoserTreeMerge: heads are kept in a long array and compared directly, so nothing is boxed.
+ */
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+public class LongLoserTreeMerge implements PrimitiveIterator.OfLong
+{
+    /* * * * * PUBLIC API * * * * */
+
+    /**
+     * Constructs a LongLoserTreeMerge over the given sources.
+     * @param sources the sources to merge, each already in ascending order.
+     */
+    public LongLoserTreeMerge (List<? extends PrimitiveIterator.OfLong> sources)
+    {
+        NumSources = sources.size();
+        Sources = sources.toArray(new PrimitiveIterator.OfLong[NumSources]);
+        Heads = new long[NumSources];
+        Exhausted = new boolean[NumSources];
+        Tree = new int[Math.max(NumSources, 1)];
+        for (int i = 0; i < NumSources; i++)
+        {
+            Advance(i);
+        }
+        Build();
+    }
+
+    /**
+     * Reports whether or not any source has items left.
+     * @return true if there are items left to merge, false otherwise.
+     */
+    @Override
+    public boolean hasNext ()
+    {
+        return NumSources > 0 && !Exhausted[Tree[0]];
+    }
+
+    /**
+     * Takes the next item in merged order.
+     * @return the lowest remaining value across all sources.
+     * @throws NoSuchElementException when every source is exhausted.
+     */
+    @Override
+    public long nextLong ()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("Tried to take an item from an exhausted merge.");
+        }
+        int winner = Tree[0];
+        long item = Heads[winner];
+        Advance(winner);
+        Replay(winner);
+        return item;
+    }
+
+    /**
+     * Wraps the remaining merged values in a sequential LongStream.
+     * @return a LongStream of the values left to merge, in ascending order.
+     */
+    public LongStream ToStream ()
+    {
+        return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false);
+    }
+
+    /* * * * * PRIVATE FIELDS * * * * */
+
+    private final int NumSources;
+    private final PrimitiveIterator.OfLong[] Sources;
+    /* The current head value of each source. */
+    private final long[] Heads;
+    private final boolean[] Exhausted;
+    /* Tree[0] holds the winning source, and Tree[1] onward the loser of each internal node's match. */
+    private final int[] Tree;
+
+    /* * * * * PRIVATE METHODS * * * * */
+
+    /**
+     * Plays every source into the tree. The first source to reach a node waits there; the second plays it, leaving
+     * the loser behind and carrying the winner on up.
+     */
+    private void Build ()
+    {
+        for (int i = 1; i < Tree.length; i++)
+        {
+            Tree[i] = -1;
+        }
+        for (int source = 0; source < NumSources; source++)
+        {
+            int winner = source;
+            int node = (source + NumSources) / 2;
+            while (node > 0)
+            {
+                if (Tree[node] < 0)
+                {
+                    Tree[node] = winner;
+                    winner = -1;
+                    break;
+                }
+                if (Beats(Tree[node], winner))
+                {
+                    int loser = winner;
+                    winner = Tree[node];
+                    Tree[node] = loser;
+                }
+                node /= 2;
+            }
+            if (winner >= 0)
+            {
+                Tree[0] = winner;
+            }
+        }
+    }
+
+    /**
+     * Replays the matches on the path from the given source's leaf to the root.
+     * @param source the source whose head has changed.
+     */
+    private void Replay (int source)
+    {
+        int winner = source;
+        for (int node = (source + NumSources) / 2; node > 0; node /= 2)
+        {
+            if (Beats(Tree[node], winner))
+            {
+                int loser = winner;
+                winner = Tree[node];
+                Tree[node] = loser;
+            }
+        }
+        Tree[0] = winner;
+    }
+
+    /**
+     * Moves the given source on to its next item, marking it exhausted when it has none.
+     * @param source the source to advance.
+     */
+    private void Advance (int source)
+    {
+        if (Sources[source].hasNext())
+        {
+            Heads[source] = Sources[source].nextLong();
+        }
+        else
+        {
+            Exhausted[source] = true;
+        }
+    }
+
+    /**
+     * Determines whether one source's head should be taken before another's. Exhausted sources lose to everything.
+     * @param attacker the source that might win.
+     * @param defender the source to play against.
+     * @return true if attacker's head ranks strictly higher, or ties and attacker is the earlier source.
+     */
+    private boolean Beats (int attacker, int defender)
+    {
+        if (Exhausted[attacker])
+        {
+            return false;
+        }
+        if (Exhausted[defender])
+        {
+            return true;
+        }
+        return Heads[attacker] < Heads[defender] || (Heads[attacker] == Heads[defender] && attacker < defender);
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * @author Rob Thomas
+ * Merges several sorted sources into one sorted sequence using a tournament (loser) tree. Each internal node of the
+ * tree remembers the source that lost the match played there, so after an item is taken from the winning source
+ * only the matches on that source's leaf-to-root path are replayed: one comparison per level, and no Pop() and Push()
+ * pair as with a heap of source heads. Items that tie are taken from the earlier source first.
+ */
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class LoserTreeMerge<Type extends Comparable<Type>> implements Iterator<Type>
+{
+    /* * * * * PUBLIC API * * * * */
+
+    /**
+     * Constructs a LoserTreeMerge over the given sources, ordered by their items' natural ordering.
+     * @param sources the sources to merge, each already sorted.
+     */
+    public LoserTreeMerge (List<? extends Iterator<Type>> sources)
+    {
+        this(sources, null);
+    }
+
+    /**
+     * Constructs a LoserTreeMerge over the given sources using the given Comparator.
+     * @param sources the sources to merge, each already sorted by comparer.
+     * @param comparer the comparator method to use for comparing items from the sources.
+     */
+    @SuppressWarnings("unchecked")
+    public LoserTreeMerge (List<? extends Iterator<Type>> sources, Comparator<Type> comparer)
+    {
+        Comparer = comparer == null ? Comparator.<Type>naturalOrder() : comparer;
+        NumSources = sources.size();
+        Sources = (Iterator<Type>[])sources.toArray(new Iterator<?>[NumSources]);
+        Heads = new Object[NumSources];
+        Exhausted = new boolean[NumSources];
+        Tree = new int[Math.max(NumSources, 1)];
+        for (int i = 0; i < NumSources; i++)
+        {
+            Advance(i);
+        }
+        Build();
+    }
+
+    /**
+     * Reports whether or not any source has items left.
+     * @return true if there are items left to merge, false otherwise.
+     */
+    @Override
+    public boolean hasNext ()
+    {
+        return NumSources > 0 && !Exhausted[Tree[0]];
+    }
+
+    /**
+     * Takes the next item in merged order.
+     * @return the lowest remaining item across all sources.
+     * @throws NoSuchElementException when every source is exhausted.
+     */
+    @Override
+    public Type next ()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException("Tried to take an item from an exhausted merge.");
+        }
+        int winner = Tree[0];
+        Type item = HeadOf(winner);
+        Advance(winner);
+        Replay(winner);
+        return item;
+    }
+
+    /**
+     * Wraps the remaining merged items in a sequential Stream.
+     * @return a Stream of the items left to merge, in merged order.
+     */
+    public Stream<Type> ToStream ()
+    {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false);
+    }
+
+    /* * * * * PRIVATE FIELDS * * * * */
+
+    private final int NumSources;
+    private final Iterator<Type>[] Sources;
+    /* The current head item of each source. */
+    private final Object[] Heads;
+    private final boolean[] Exhausted;
+    /* Tree[0] holds the winning source, and Tree[1] onward the loser of each internal node's match. */
+    private final int[] Tree;
+    private final Comparator<Type> Comparer;
+
+    /* * * * * PRIVATE METHODS * * * * */
+
+    /**
+     * Plays every source into the tree. The first source to reach a node waits there; the second plays it, leaving
+     * the loser behind and carrying the winner on up.
+     */
+    private void Build ()
+    {
+        for (int i = 1; i < Tree.length; i++)
+        {
+            Tree[i] = -1;
+        }
+        for (int source = 0; source < NumSources; source++)
+        {
+            int winner = source;
+            int node = (source + NumSources) / 2;
+            while (node > 0)
+            {
+                if (Tree[node] < 0)
+                {
+                    Tree[node] = winner;
+                    winner = -1;
+                    break;
+                }
+                if (Beats(Tree[node], winner))
+                {
+                    int loser = winner;
+                    winner = Tree[node];
+                    Tree[node] = loser;
+                }
+                node /= 2;
+            }
+            if (winner >= 0)
+            {
+                Tree[0] = winner;
+            }
+        }
+    }
+
+    /**
+     * Replays the matches on the path from the given source's leaf to the root.
+     * @param source the source whose head has changed.
+     */
+    private void Replay (int source)
+    {
+        int winner = source;
+        for (int node = (source + NumSources) / 2; node > 0; node /= 2)
+        {
+            if (Beats(Tree[node], winner))
+            {
+                int loser = winner;
+                winner = Tree[node];
+                Tree[node] = loser;
+            }
+        }
+        Tree[0] = winner;
+    }
+
+    /**
+     * Moves the given source on to its next item, marking it exhausted when it has none.
+     * @param source the source to advance.
+     */
+    private void Advance (int source)
+    {
+        if (Sources[source].hasNext())
+        {
+            Heads[source] = Sources[source].next();
+        }
+        else
+        {
+            Heads[source] = null;
+            Exhausted[source] = true;
+        }
+    }
+
+    /**
+     * Gets the current head item of the given source. The source is assumed not to be exhausted.
+     * @param source the source whose head will be returned.
+     * @return the source's head item.
+     */
+    @SuppressWarnings("unchecked")
+    private Type HeadOf (int source)
+    {
+        return (Type)Heads[source];
+    }
+
+    /**
+     * Determines whether one source's head should be taken before another's. Exhausted sources lose to everything.
+     * @param attacker the source that might win.
+     * @param defender the source to play against.
+     * @return true if attacker's head ranks strictly higher, or ties and attacker is the earlier source.
+     */
+    private boolean Beats (int attacker, int defender)
+    {
+        if (Exhausted[attacker])
+        {
+            return false;
+        }
+        if (Exhausted[defender])
+        {
+            return true;
+        }
+        int comparison = Comparer.compare(HeadOf(attacker), HeadOf(defender));
+        return comparison < 0 || (comparison == 0 && attacker < defender);
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * @author Rob Thomas
+ * A bounded, lock-free first in - first out queue for any number of producer threads and one consumer thread. Items
+ * sit in a power-of-two circular array between a head counter, written only by the consumer, and a tail counter that
+ * producers advance with a compare-and-set to claim a slot. A producer publishes its item by writing the claimed slot
+ * with release ordering, so the consumer treats an empty slot behind the tail as a claim still being filled. Each
+ * counter is padded onto its own cache line.
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class MpscArrayQueue<Type extends Comparable<Type>> extends Queue<Type>
+{
+    /* * * * * PUBLIC API * * * * */
+
+    /**
+     * Constructs an empty MpscArrayQueue that holds at least the given number of items.
+     * @param capacity the number of items the queue can hold, rounded up to a power of two.
+     * @throws IllegalArgumentException when capacity is not between 1 and 2^30.
+     */
+    public MpscArrayQueue (int capacity)
+    {
+        Elems = new Object[RingBufferQueue.CapacityFor(capacity)];
+        Mask = Elems.length - 1;
+    }
+
+    /**
+     * Gets the number of items in this queue, including items whose producers have claimed a slot but not yet
+     * filled it. While other threads are using the queue this is only an estimate.
+     * @return the number of items in this queue.
+     */
+    @Override
+    public int GetSize ()
+    {
+        long head = Head.GetAcquire();
+        long size = Tail.GetAcquire() - head;
+        return (int)Math.max(0, Math.min(size, Elems.length));
+    }
+
+    /**
+     * Reports whether or not this queue is empty. While other threads are using the queue this is only an estimate.
+     * @return true if this queue is empty, false otherwise.
+     */
+    @Override
+    public boolean IsEmpty ()
+    {
+        return GetSize() == 0;
+    }
+
+    /**
+     * Gets the number of items the queue can hold.
+     * @return the queue's capacity.
+     */
+    public int GetCapacity ()
+    {
+        return Elems.length;
+    }
+
+    /**
+     * Adds a new item to the back of the queue. May be called from any thread.
+     * @param item the item to add to the queue.
+     * @throws IllegalStateException when the queue is full.
+     */
+    @Override
+    public void Enqueue (Type item)
+    {
+        if (!Offer(item))
+        {
+            throw new IllegalStateException("Tried to enqueue to a full queue.");
+        }
+    }
+
+    /**
+     * Removes and returns the item that has been in the queue longest. May only be called from the consumer thread.
+     * @return the front item of the queue.
+     * @throws IndexOutOfBoundsException when called on an empty queue.
+     */
+    @Override
+    public Type Dequeue ()
+    {
+        Type item = Poll();
+        if (item == null)
+        {
+            throw new IndexOutOfBoundsException("Tried to dequeue from an empty queue.");
+        }
+        return item;
+    }
+
+    /**
+     * Adds a new item to the back of the queue if there is room. May be called from any thread.
+     * @param item the item to add to the queue.
+     * @return true if the item was added, false if the queue is full.
+     * @throws IllegalArgumentException when item is null.
+     */
+    public boolean Offer (Type item)
+    {
+        if (item == null)
+        {
+            throw new IllegalArgumentException("Tried to enqueue a null item.");
+        }
+        long headCache = HeadCache;
+        long tail;
+        do
+        {
+            tail = Tail.GetAcquire();
+            if (tail - headCache >= Elems.length)
+            {
+                headCache = Head.GetAcquire();
+                if (tail - headCache >= Elems.length)
+                {
+                    return false;
+                }
+                HeadCache = headCache;
+            }
+        }
+        while (!Tail.CompareAndSet(tail, tail + 1));
+        /* Publish the item into the claimed slot. */
+        ELEMS.setRelease(Elems, (int)tail & Mask, item);
+        return true;
+    }
+
+    /**
+     * Removes and returns the front item of the queue, if there is one. May only be called from the consumer thread.
+     * If the front slot has been claimed but not yet filled, waits for its producer to fill it.
+     * @return the front item of the queue, or null if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public Type Poll ()
+    {
+        long head = Head.GetPlain();
+        int index = (int)head & Mask;
+        Object item = ELEMS.getAcquire(Elems, index);
+        if (item == null)
+        {
+            if (head == Tail.GetAcquire())
+            {
+                return null;
+            }
+            /* A producer has claimed the slot; its item is on the way. */
+            do
+            {
+                Thread.onSpinWait();
+                item = ELEMS.getAcquire(Elems, index);
+            }
+            while (item == null);
+        }
+        Elems[index] = null;
+        /* Hand the slot back to the producers. */
+        Head.SetRelease(head + 1);
+        return (Type)item;
+    }
+
+    /**
+     * Iterates over the queue's items from front to back without removing them. May only be called from the
+     * consumer thread, and stops at the first slot that has not been filled yet.
+     * @return an iterator over the queue's items.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<Type> iterator ()
+    {
+        long head = Head.GetPlain();
+        long tail = Tail.GetAcquire();
+        return new Iterator<Type>()
+        {
+            private long Position = head;
+
+            @Override
+            public boolean hasNext ()
+            {
+                return Position < tail && ELEMS.getAcquire(Elems, (int)Position & Mask) != null;
+            }
+
+            @Override
+            public Type next ()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException("Tried to iterate past the back of the queue.");
+                }
+                return (Type)ELEMS.getAcquire(Elems, (int)Position++ & Mask);
+            }
+        };
+    }
+
+    /* * * * * PRIVATE FIELDS * * * * */
+
+    private static final VarHandle ELEMS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Object[] Elems;
+    private final int Mask;
+    /* The count of items ever dequeued. Written only by the consumer. */
+    private final PaddedCounter Head = new PaddedCounter();
+    /* The count of slots ever claimed by producers. */
+    private final PaddedCounter Tail = new PaddedCounter();
+    /* A shared, possibly stale reading of Head, so producers rarely touch the consumer's cache line. */
+    private volatile long HeadCache = 0;
+}
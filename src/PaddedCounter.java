@@ -0,0 +1,89 @@
+/**
+ * @author Rob Thomas
+ * A long counter padded out to its own cache line, so that counters updated by different threads (such as a queue's
+ * head and tail) do not falsely share a line. The padding lives in superclasses and a subclass because the JVM may
+ * reorder fields within a class but keeps superclass fields ahead of subclass fields.
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+class PaddedCounter extends PaddedCounterValue
+{
+    long P8, P9, P10, P11, P12, P13, P14, P15;
+
+    /**
+     * Constructs a PaddedCounter starting at zero.
+     */
+    PaddedCounter ()
+    {
+    }
+
+    /**
+     * Reads the counter with acquire ordering, seeing every write made before the matching release.
+     * @return the counter's value.
+     */
+    long GetAcquire ()
+    {
+        return (long)VALUE.getAcquire(this);
+    }
+
+    /**
+     * Reads the counter without ordering. Only safe for the thread that owns the counter.
+     * @return the counter's value.
+     */
+    long GetPlain ()
+    {
+        return Value;
+    }
+
+    /**
+     * Writes the counter with release ordering, publishing every write made before it.
+     * @param value the counter's new value.
+     */
+    void SetRelease (long value)
+    {
+        VALUE.setRelease(this, value);
+    }
+
+    /**
+     * Atomically sets the counter to a new value if it still holds the expected one.
+     * @param expected the value the counter should hold.
+     * @param value the counter's new value.
+     * @return true if the counter was updated, false if it held a different value.
+     */
+    boolean CompareAndSet (long expected, long value)
+    {
+        return VALUE.compareAndSet(this, expected, value);
+    }
+
+    private static final VarHandle VALUE;
+
+    static
+    {
+        try
+        {
+            VALUE = MethodHandles.lookup().findVarHandle(PaddedCounterValue.class, "Value", long.class);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
+
+/**
+ * Pads the front of a PaddedCounter.
+ */
+class PaddedCounterPrefix
+{
+    long P0, P1, P2, P3, P4, P5, P6, P7;
+}
+
+/**
+ * Holds the value of a PaddedCounter between its front and back padding.
+ */
+class PaddedCounterValue extends PaddedCounterPrefix
+{
+    volatile long Value;
+}
@@ -0,0 +1,111 @@
+/**
+ * @author Rob Thomas
+ * A Heap that passes every operation through to another Heap while recording it with a HeapTraceWriter. Each pushed
+ * item is recorded by a long key, so a trace can later be replayed with HeapTraceReplay against any Heap of Longs.
+ * Operations are recorded only once they succeed, so a replayed trace never pops or peeks at an empty heap.
+ */
+
+import java.util.Iterator;
+import java.util.function.ToLongFunction;
+
+public class RecordingHeap<Type extends Comparable<Type>> extends Heap<Type>
+{
+    /* * * * * PUBLIC API * * * * */
+
+    /**
+     * Constructs a RecordingHeap around the given heap.
+     * @param heap the heap that operations are passed through to.
+     * @param keyExtractor the function that computes the key recorded for each pushed item. The keys should order
+     *                     items the same way the heap does, so that a replay reproduces the heap's behavior.
+     * @param writer the writer to record operations with.
+     */
+    public RecordingHeap (Heap<Type> heap, ToLongFunction<Type> keyExtractor, HeapTraceWriter writer)
+    {
+        Delegate = heap;
+        KeyExtractor = keyExtractor;
+        Writer = writer;
+    }
+
+    /**
+     * Adds a new item to the underlying heap and records the Push.
+     * @param item the item to add to the heap.
+     */
+    @Override
+    public void Push (Type item)
+    {
+        Delegate.Push(item);
+        Writer.RecordPush(KeyExtractor.applyAsLong(item));
+    }
+
+    /**
+     * Pops off the top element of the underlying heap and records the Pop.
+     * @return the topmost element of the heap.
+     * @throws IndexOutOfBoundsException when called on an empty heap.
+     */
+    @Override
+    public Type Pop ()
+    {
+        Type item = Delegate.Pop();
+        Writer.RecordPop();
+        return item;
+    }
+
+    /**
+     * Peeks at the top element of the underlying heap and records the Peek.
+     * @return the item that would be returned by the next call to Pop().
+     * @throws IndexOutOfBoundsException when called on an empty heap.
+     */
+    @Override
+    public Type Peek ()
+    {
+        Type item = Delegate.Peek();
+        Writer.RecordPeek();
+        return item;
+    }
+
+    /**
+     * Gets the number of items in the underlying heap.
+     * @return the number of items in the heap.
+     */
+    @Override
+    public int GetSize ()
+    {
+        return Delegate.GetSize();
+    }
+
+    /**
+     * Reports whether or not the underlying heap is empty.
+     * @return true if the heap is empty, false otherwise.
+     */
+    @Override
+    public boolean IsEmpty ()
+    {
+        return Delegate.IsEmpty();
+    }
+
+    /**
+     * Determines whether or not the underlying heap's items are correctly ordered.
+     * @return true if the heap's items are correctly ordered, false otherwise.
+     */
+    @Override
+    public boolean ItemsAreInOrder ()
+    {
+        return Delegate.ItemsAreInOrder();
+    }
+
+    /**
+     * Iterates over the underlying heap's items. Iterating is not recorded.
+     * @return the underlying heap's iterator.
+     */
+    @Override
+    public Iterator<Type> iterator ()
+    {
+        return Delegate.iterator();
+    }
+
+    /* * * * * PRIVATE FIELDS * * * * */
+
+    private final Heap<Type> Delegate;
+    private final ToLongFunction<Type> KeyExtractor;
+    private final HeapTraceWriter Writer;
+}
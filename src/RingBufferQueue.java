@@ -0,0 +1,230 @@
+/**
+ * @author Rob Thomas
+ * A first in - first out queue stored in a circular array. The array's capacity is always a power of two, so an
+ * index wraps around with a mask rather than a division, and the array doubles in size whenever it fills up.
+ */
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class RingBufferQueue<Type extends Comparable<Type>> extends Queue<Type>
+{
+    /* * * * * PUBLIC API * * * * */
+
+    /**
+     * Constructs an empty RingBufferQueue.
+     */
+    public RingBufferQueue ()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty RingBufferQueue with room for at least the given number of items before it must grow.
+     * @param initialCapacity the number of items to make room for, rounded up to a power of two.
+     * @throws IllegalArgumentException when initialCapacity is not between 1 and 2^30.
+     */
+    public RingBufferQueue (int initialCapacity)
+    {
+        Elems = new Object[CapacityFor(initialCapacity)];
+        Mask = Elems.length - 1;
+        Head = 0;
+        Size = 0;
+    }
+
+    /**
+     * Gets the number of items in this queue.
+     * @return the number of items in this queue.
+     */
+    @Override
+    public int GetSize ()
+    {
+        return Size;
+    }
+
+    /**
+     * Reports whether or not this queue is empty.
+     * @return true if this queue is empty, false otherwise.
+     */
+    @Override
+    public boolean IsEmpty ()
+    {
+        return Size == 0;
+    }
+
+    /**
+     * Adds a new item to the back of the queue, growing the queue if it is full.
+     * @param item the item to add to the queue.
+     */
+    @Override
+    public void Enqueue (Type item)
+    {
+        if (Size == Elems.length)
+        {
+            Grow();
+        }
+        Elems[(Head + Size) & Mask] = item;
+        Size++;
+    }
+
+    /**
+     * Removes and returns the item that has been in the queue longest.
+     * @return the front item of the queue.
+     * @throws IndexOutOfBoundsException when called on an empty queue.
+     */
+    @Override
+    public Type Dequeue ()
+    {
+        if (IsEmpty())
+        {
+            throw new IndexOutOfBoundsException("Tried to dequeue from an empty queue.");
+        }
+        Type item = ItemAt(0);
+        /* Release the slot so the queue does not keep the item alive. */
+        Elems[Head] = null;
+        Head = (Head + 1) & Mask;
+        Size--;
+        return item;
+    }
+
+    /**
+     * Peeks at the front item in the queue.
+     * @return the item that would be returned by the next call to Dequeue().
+     * @throws IndexOutOfBoundsException when called on an empty queue.
+     */
+    public Type Peek ()
+    {
+        if (IsEmpty())
+        {
+            throw new IndexOutOfBoundsException("Tried to peek at an empty queue.");
+        }
+        return ItemAt(0);
+    }
+
+    /**
+     * Gets the number of items the queue can hold before it must grow.
+     * @return the queue's current capacity.
+     */
+    public int GetCapacity ()
+    {
+        return Elems.length;
+    }
+
+    /**
+     * Converts this queue to a string representation, listing its items from front to back.
+     * @return a string representing this queue.
+     */
+    public String toString ()
+    {
+        StringBuilder str = new StringBuilder();
+        str.append("[ ");
+        for (int i = 0; i < Size; i++)
+        {
+            str.append(ItemAt(i)).append(" ");
+        }
+        str.append("]");
+        return str.toString();
+    }
+
+    /**
+     * Clones this queue, yielding a separate RingBufferQueue object whose contents are identical to this one's.
+     * @return a clone of this queue.
+     */
+    @Override
+    public RingBufferQueue<Type> clone ()
+    {
+        RingBufferQueue<Type> clone = new RingBufferQueue<Type>(Elems.length);
+        for (int i = 0; i < Size; i++)
+        {
+            clone.Enqueue(ItemAt(i));
+        }
+        return clone;
+    }
+
+    /**
+     * Iterates over the queue's items from front to back without removing them.
+     * @return an iterator over the queue's items.
+     */
+    @Override
+    public Iterator<Type> iterator ()
+    {
+        return new Iterator<Type>()
+        {
+            private int Position = 0;
+
+            @Override
+            public boolean hasNext ()
+            {
+                return Position < Size;
+            }
+
+            @Override
+            public Type next ()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException("Tried to iterate past the back of the queue.");
+                }
+                return ItemAt(Position++);
+            }
+        };
+    }
+
+    /* * * * * PRIVATE FIELDS * * * * */
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private Object[] Elems;
+    private int Mask;
+    /* The array index of the front item. */
+    private int Head;
+    private int Size;
+
+    /* * * * * PRIVATE METHODS * * * * */
+
+    /**
+     * Rounds a requested capacity up to the next power of two.
+     * @param capacity the requested capacity.
+     * @return the smallest power of two no less than capacity.
+     * @throws IllegalArgumentException when capacity is not between 1 and 2^30.
+     */
+    static int CapacityFor (int capacity)
+    {
+        if (capacity < 1 || capacity > MAX_CAPACITY)
+        {
+            throw new IllegalArgumentException(String.format("Invalid queue capacity: %d.", capacity));
+        }
+        return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Gets the item at the given distance from the front of the queue. The position is assumed to be valid.
+     * @param position the number of items ahead of the wanted item.
+     * @return the item at that position.
+     */
+    @SuppressWarnings("unchecked")
+    private Type ItemAt (int position)
+    {
+        return (Type)Elems[(Head + position) & Mask];
+    }
+
+    /**
+     * Doubles the array's capacity, unwrapping the items so the front item lands at index 0.
+     * @throws IllegalStateException when the queue is already at its maximum capacity.
+     */
+    private void Grow ()
+    {
+        if (Elems.length == MAX_CAPACITY)
+        {
+            throw new IllegalStateException("Tried to grow a queue past its maximum capacity.");
+        }
+        Object[] grown = new Object[Elems.length * 2];
+        int frontLength = Elems.length - Head;
+        System.arraycopy(Elems, Head, grown, 0, frontLength);
+        System.arraycopy(Elems, 0, grown, frontLength, Head);
+        Elems = grown;
+        Mask = grown.length - 1;
+        Head = 0;
+    }
+}
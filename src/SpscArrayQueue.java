@@ -0,0 +1,184 @@
+/**
+ * @author Rob Thomas
+ * A bounded, lock-free first in - first out queue for exactly one producer thread and one consumer thread. Items sit
+ * in a power-of-two circular array between a head counter, written only by the consumer, and a tail counter, written
+ * only by the producer. Each counter is padded onto its own cache line, and each side keeps a private copy of the
+ * other side's counter, re-reading the shared one only when its copy says the queue is full or empty.
+ */
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class SpscArrayQueue<Type extends Comparable<Type>> extends Queue<Type>
+{
+    /* * * * * PUBLIC API * * * * */
+
+    /**
+     * Constructs an empty SpscArrayQueue that holds at least the given number of items.
+     * @param capacity the number of items the queue can hold, rounded up to a power of two.
+     * @throws IllegalArgumentException when capacity is not between 1 and 2^30.
+     */
+    public SpscArrayQueue (int capacity)
+    {
+        Elems = new Object[RingBufferQueue.CapacityFor(capacity)];
+        Mask = Elems.length - 1;
+    }
+
+    /**
+     * Gets the number of items in this queue. While other threads are using the queue this is only an estimate.
+     * @return the number of items in this queue.
+     */
+    @Override
+    public int GetSize ()
+    {
+        long head = Head.GetAcquire();
+        long size = Tail.GetAcquire() - head;
+        return (int)Math.max(0, Math.min(size, Elems.length));
+    }
+
+    /**
+     * Reports whether or not this queue is empty. While other threads are using the queue this is only an estimate.
+     * @return true if this queue is empty, false otherwise.
+     */
+    @Override
+    public boolean IsEmpty ()
+    {
+        return GetSize() == 0;
+    }
+
+    /**
+     * Gets the number of items the queue can hold.
+     * @return the queue's capacity.
+     */
+    public int GetCapacity ()
+    {
+        return Elems.length;
+    }
+
+    /**
+     * Adds a new item to the back of the queue. May only be called from the producer thread.
+     * @param item the item to add to the queue.
+     * @throws IllegalStateException when the queue is full.
+     */
+    @Override
+    public void Enqueue (Type item)
+    {
+        if (!Offer(item))
+        {
+            throw new IllegalStateException("Tried to enqueue to a full queue.");
+        }
+    }
+
+    /**
+     * Removes and returns the item that has been in the queue longest. May only be called from the consumer thread.
+     * @return the front item of the queue.
+     * @throws IndexOutOfBoundsException when called on an empty queue.
+     */
+    @Override
+    public Type Dequeue ()
+    {
+        Type item = Poll();
+        if (item == null)
+        {
+            throw new IndexOutOfBoundsException("Tried to dequeue from an empty queue.");
+        }
+        return item;
+    }
+
+    /**
+     * Adds a new item to the back of the queue if there is room. May only be called from the producer thread.
+     * @param item the item to add to the queue.
+     * @return true if the item was added, false if the queue is full.
+     * @throws IllegalArgumentException when item is null.
+     */
+    public boolean Offer (Type item)
+    {
+        if (item == null)
+        {
+            throw new IllegalArgumentException("Tried to enqueue a null item.");
+        }
+        long tail = Tail.GetPlain();
+        if (tail - HeadCache >= Elems.length)
+        {
+            HeadCache = Head.GetAcquire();
+            if (tail - HeadCache >= Elems.length)
+            {
+                return false;
+            }
+        }
+        Elems[(int)tail & Mask] = item;
+        /* Publish the item to the consumer. */
+        Tail.SetRelease(tail + 1);
+        return true;
+    }
+
+    /**
+     * Removes and returns the front item of the queue, if there is one. May only be called from the consumer thread.
+     * @return the front item of the queue, or null if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public Type Poll ()
+    {
+        long head = Head.GetPlain();
+        if (head >= TailCache)
+        {
+            TailCache = Tail.GetAcquire();
+            if (head >= TailCache)
+            {
+                return null;
+            }
+        }
+        int index = (int)head & Mask;
+        Type item = (Type)Elems[index];
+        Elems[index] = null;
+        /* Hand the slot back to the producer. */
+        Head.SetRelease(head + 1);
+        return item;
+    }
+
+    /**
+     * Iterates over the queue's items from front to back without removing them. May only be called from the
+     * consumer thread, and sees the items that had been published when it was created.
+     * @return an iterator over the queue's items.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<Type> iterator ()
+    {
+        long head = Head.GetPlain();
+        long tail = Tail.GetAcquire();
+        return new Iterator<Type>()
+        {
+            private long Position = head;
+
+            @Override
+            public boolean hasNext ()
+            {
+                return Position < tail;
+            }
+
+            @Override
+            public Type next ()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException("Tried to iterate past the back of the queue.");
+                }
+                return (Type)Elems[(int)Position++ & Mask];
+            }
+        };
+    }
+
+    /* * * * * PRIVATE FIELDS * * * * */
+
+    private final Object[] Elems;
+    private final int Mask;
+    /* The count of items ever dequeued. Written only by the consumer. */
+    private final PaddedCounter Head = new PaddedCounter();
+    /* The count of items ever enqueued. Written only by the producer. */
+    private final PaddedCounter Tail = new PaddedCounter();
+    /* The producer's last reading of Head. */
+    private long HeadCache = 0;
+    /* The consumer's last reading of Tail. */
+    private long TailCache = 0;
+}
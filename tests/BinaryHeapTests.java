@@ -209,4 +209,219 @@ public class BinaryHeapTests
         }
         System.err.println();
     }
+
+    /**
+     * Verifies that a BinaryHeap in bottom-up pop mode still returns its contents in non-decreasing order.
+     */
+    @Test
+    public void BottomUpPopShouldReturnInNonDecreasingOrder ()
+    {
+        heap.SetBottomUpPop(true);
+        int numPushes = 100;
+        for (int i = 0; i < numPushes; i++)
+        {
+            heap.Push(random.nextInt(numPushes));
+        }
+        int previous = -1;
+        while (!heap.IsEmpty())
+        {
+            int next = heap.Pop();
+            assertTrue(heap.ItemsFollowHeapComparator(previous, next));
+            previous = next;
+        }
+    }
+
+    /**
+     * Verifies that popping bottom-up makes fewer comparisons than popping with the standard sink.
+     */
+    @Test
+    public void BottomUpPopShouldMakeFewerComparisons ()
+    {
+        long[] comparisons = new long[1];
+        Comparator<Integer> countingComparator = new Comparator<Integer>()
+        {
+            @Override
+            public int compare(Integer o1, Integer o2)
+            {
+                comparisons[0]++;
+                return o1.compareTo(o2);
+            }
+        };
+        int numPushes = 1000;
+        long[] popComparisons = new long[2];
+        for (int mode = 0; mode < 2; mode++)
+        {
+            heap = new BinaryHeap<>(countingComparator);
+            heap.SetBottomUpPop(mode == 1);
+            Random seeded = new Random(numPushes);
+            for (int i = 0; i < numPushes; i++)
+            {
+                heap.Push(seeded.nextInt());
+            }
+            comparisons[0] = 0;
+            while (!heap.IsEmpty())
+            {
+                heap.Pop();
+            }
+            popComparisons[mode] = comparisons[0];
+        }
+        assertTrue(popComparisons[1] < popComparisons[0]);
+    }
+
+    /**
+     * Verifies that Contains() reports pushed items and not popped or removed ones, with and without the position
+     * index.
+     */
+    @Test
+    public void ContainsShouldTrackPushedItems ()
+    {
+        for (int indexed = 0; indexed < 2; indexed++)
+        {
+            heap = new BinaryHeap<Integer>();
+            heap.SetPositionIndexed(indexed == 1);
+            Integer[] items = new Integer[32];
+            for (int i = 0; i < items.length; i++)
+            {
+                items[i] = Integer.valueOf(i);
+                heap.Push(items[i]);
+            }
+            assertTrue(heap.Contains(items[20]));
+            heap.Remove(items[20]);
+            assertFalse(heap.Contains(items[20]));
+            assertEquals(items[0], heap.Pop());
+            assertFalse(heap.Contains(items[0]));
+            assertTrue(heap.Contains(items[31]));
+        }
+    }
+
+    /**
+     * Verifies that removing arbitrary items, eagerly or lazily, leaves the remaining items popping in non-decreasing
+     * order and the heap's size correct.
+     */
+    @Test
+    public void RemoveShouldKeepHeapOrdered ()
+    {
+        for (int lazy = 0; lazy < 2; lazy++)
+        {
+            heap = new BinaryHeap<Integer>();
+            heap.SetPositionIndexed(true);
+            heap.SetLazyRemoval(lazy == 1);
+            int numPushes = 200;
+            List<Integer> items = new ArrayList<Integer>();
+            for (int i = 0; i < numPushes; i++)
+            {
+                /* Stay clear of the Integer cache, so that equal values are still distinct items. */
+                Integer item = Integer.valueOf(1000 + random.nextInt(numPushes));
+                items.add(item);
+                heap.Push(item);
+            }
+            int numRemoves = numPushes / 2;
+            for (int i = 0; i < numRemoves; i++)
+            {
+                assertTrue(heap.Remove(items.remove(random.nextInt(items.size()))));
+            }
+            assertEquals(numPushes - numRemoves, heap.GetSize());
+            int previous = -1;
+            while (!heap.IsEmpty())
+            {
+                int next = heap.Pop();
+                assertTrue(heap.ItemsFollowHeapComparator(previous, next));
+                previous = next;
+            }
+        }
+    }
+
+    /**
+     * Verifies that removing an item that is not in the heap reports failure.
+     */
+    @Test
+    public void RemoveMissingItemShouldReturnFalse ()
+    {
+        heap.Push(1);
+        assertFalse(heap.Remove(Integer.valueOf(2)));
+        assertEquals(1, heap.GetSize());
+    }
+
+    /**
+     * Verifies that lazily removing one of two stored copies of the same item leaves the other copy live, through
+     * popping and through compaction.
+     */
+    @Test
+    public void LazyRemovalShouldOnlyRemoveOneCopy ()
+    {
+        heap.SetLazyRemoval(true);
+        heap.SetCompactionThreshold(1);
+        Integer shared = 5;
+        for (int i = 0; i < 10; i++)
+        {
+            heap.Push(100 + i);
+        }
+        heap.Push(shared);
+        heap.Push(shared);
+        assertEquals(12, heap.GetSize());
+        assertTrue(heap.Remove(shared));
+        assertEquals(11, heap.GetSize());
+        assertTrue(heap.Contains(shared));
+        assertEquals(11, heap.clone().GetSize());
+
+        heap.SetLazyRemoval(false);
+        assertEquals(11, heap.GetSize());
+        assertTrue(heap.Contains(shared));
+        assertEquals(shared, heap.Pop());
+        assertFalse(heap.Contains(shared));
+
+        /* Popping past a lazily removed copy also leaves the other copy live. */
+        heap = new BinaryHeap<Integer>();
+        heap.SetLazyRemoval(true);
+        heap.SetCompactionThreshold(1);
+        heap.Push(shared);
+        heap.Push(shared);
+        heap.Push(7);
+        assertTrue(heap.Remove(shared));
+        assertEquals(shared, heap.Pop());
+        assertEquals(7, (int)heap.Pop());
+        assertTrue(heap.IsEmpty());
+    }
+
+    /**
+     * Verifies that a position-indexed heap matches items by identity, so it rejects a second push of an Integer value
+     * that the JVM caches and shares.
+     */
+    @Test
+    public void IndexedHeapShouldRejectCachedIntegerPushedTwice ()
+    {
+        heap.SetPositionIndexed(true);
+        heap.Push(3);
+        assertThrows(IllegalArgumentException.class, () -> heap.Push(3));
+        assertEquals(1, heap.GetSize());
+    }
+
+    /**
+     * Verifies that pushing the same item twice to a position-indexed heap throws an IllegalArgumentException.
+     */
+    @Test
+    public void PushDuplicateToIndexedHeapShouldThrowException ()
+    {
+        heap.SetPositionIndexed(true);
+        Integer item = Integer.valueOf(1);
+        heap.Push(item);
+        assertThrows(IllegalArgumentException.class, () -> heap.Push(item));
+    }
+
+    /**
+     * Verifies that ReplaceTop() returns the old top item and leaves the heap ordered with its size unchanged.
+     */
+    @Test
+    public void ReplaceTopShouldSwapOutTopItem ()
+    {
+        int numPushes = 32;
+        for (int i = 0; i < numPushes; i++)
+        {
+            heap.Push(i);
+        }
+        assertEquals(0, (int)heap.ReplaceTop(numPushes));
+        assertEquals(numPushes, heap.GetSize());
+        assertEquals(1, (int)heap.Peek());
+        assertThrows(IndexOutOfBoundsException.class, () -> new BinaryHeap<Integer>().ReplaceTop(0));
+    }
 }
@@ -0,0 +1,114 @@
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * @author Rob Thomas
+ * Provides a collection of unit tests for the BlockedBinaryHeap class.
+ */
+
+public class BlockedBinaryHeapTests
+{
+    static Random random;
+    static BlockedBinaryHeap<Integer> heap;
+
+    /**
+     * Before the test suite is run, sets up a Random generator.
+     */
+    @BeforeAll
+    public static void initAll()
+    {
+        random = new Random();
+    }
+
+    /**
+     * Before each individual test, generates a fresh BlockedBinaryHeap with small blocks, so that even modest heaps
+     * span several blocks.
+     */
+    @BeforeEach
+    public void init()
+    {
+        heap = new BlockedBinaryHeap<Integer>(3);
+    }
+
+    /**
+     * Verifies that newly generated BlockedBinaryHeaps are empty.
+     */
+    @Test
+    public void NewHeapShouldBeEmpty ()
+    {
+        assertTrue(heap.IsEmpty());
+    }
+
+    /**
+     * Verifies that attempting to Pop from an empty BlockedBinaryHeap throws an IndexOutOfBoundsException.
+     */
+    @Test
+    public void PopFromEmptyHeapShouldThrowException ()
+    {
+        assertThrows(IndexOutOfBoundsException.class, heap::Pop);
+    }
+
+    /**
+     * Verifies that a block size outside the supported range is rejected.
+     */
+    @Test
+    public void InvalidLevelsPerBlockShouldThrowException ()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new BlockedBinaryHeap<Integer>(0));
+    }
+
+    /**
+     * Verifies that interleaved pushes and pops keep the heap ordered and pop its contents in non-decreasing order,
+     * for a range of block sizes.
+     */
+    @Test
+    public void PopShouldReturnInNonDecreasingOrder ()
+    {
+        for (int levelsPerBlock = 1; levelsPerBlock <= 5; levelsPerBlock++)
+        {
+            heap = new BlockedBinaryHeap<Integer>(levelsPerBlock);
+            int numPushes = 500;
+            for (int i = 0; i < numPushes; i++)
+            {
+                heap.Push(random.nextInt(numPushes));
+                if (random.nextInt(4) == 0)
+                {
+                    heap.Pop();
+                }
+                assertTrue(heap.ItemsAreInOrder());
+            }
+            int previous = -1;
+            while (!heap.IsEmpty())
+            {
+                int next = heap.Pop();
+                assertTrue(heap.ItemsFollowHeapComparator(previous, next));
+                previous = next;
+            }
+        }
+    }
+
+    /**
+     * Verifies that utilizing the Iterator returned by the iterator() function does not alter the state of the heap.
+     */
+    @Test
+    public void IteratingDoesNotAlterHeap ()
+    {
+        int numPushes = 32;
+        for (int i = 0; i < numPushes; i++)
+        {
+            heap.Push(i);
+        }
+        int count = 0;
+        for (int item : heap)
+        {
+            assertEquals(count, item);
+            count++;
+        }
+        assertEquals(numPushes, count);
+        assertEquals(numPushes, heap.GetSize());
+    }
+}
@@ -0,0 +1,149 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Rob Thomas
+ * Provides a collection of unit and contention tests for the SpscArrayQueue and MpscArrayQueue classes.
+ */
+
+public class ConcurrentQueueTests
+{
+    static final int ITEMS_PER_PRODUCER = 1000000;
+
+    /**
+     * Verifies that a full queue rejects new items and an empty queue yields none, for both queues.
+     */
+    @Test
+    public void BoundsShouldBeEnforced ()
+    {
+        SpscArrayQueue<Integer> spsc = new SpscArrayQueue<Integer>(3);
+        MpscArrayQueue<Integer> mpsc = new MpscArrayQueue<Integer>(3);
+        assertEquals(4, spsc.GetCapacity());
+        assertEquals(4, mpsc.GetCapacity());
+        for (int i = 0; i < 4; i++)
+        {
+            assertTrue(spsc.Offer(i));
+            assertTrue(mpsc.Offer(i));
+        }
+        assertFalse(spsc.Offer(4));
+        assertFalse(mpsc.Offer(4));
+        assertThrows(IllegalStateException.class, () -> spsc.Enqueue(4));
+        assertThrows(IllegalStateException.class, () -> mpsc.Enqueue(4));
+        for (int i = 0; i < 4; i++)
+        {
+            assertEquals(i, (int)spsc.Dequeue());
+            assertEquals(i, (int)mpsc.Dequeue());
+        }
+        assertNull(spsc.Poll());
+        assertNull(mpsc.Poll());
+        assertThrows(IndexOutOfBoundsException.class, spsc::Dequeue);
+        assertThrows(IndexOutOfBoundsException.class, mpsc::Dequeue);
+    }
+
+    /**
+     * Verifies that null items are rejected, since an empty slot marks a missing item.
+     */
+    @Test
+    public void NullItemsShouldBeRejected ()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new SpscArrayQueue<Integer>(4).Offer(null));
+        assertThrows(IllegalArgumentException.class, () -> new MpscArrayQueue<Integer>(4).Offer(null));
+    }
+
+    /**
+     * Verifies that a producer thread and a consumer thread pass every item through a small SpscArrayQueue in order,
+     * and reports the throughput achieved.
+     */
+    @Test
+    public void SpscShouldPreserveOrderUnderContention () throws InterruptedException
+    {
+        SpscArrayQueue<Long> queue = new SpscArrayQueue<Long>(256);
+        Thread producer = new Thread(() -> {
+            for (long i = 0; i < ITEMS_PER_PRODUCER; i++)
+            {
+                while (!queue.Offer(i))
+                {
+                    Thread.yield();
+                }
+            }
+        });
+        long start = System.nanoTime();
+        producer.start();
+        long expected = 0;
+        while (expected < ITEMS_PER_PRODUCER)
+        {
+            Long item = queue.Poll();
+            if (item == null)
+            {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(expected++, (long)item);
+        }
+        producer.join();
+        ReportThroughput("SPSC, 1 producer", expected, System.nanoTime() - start);
+        assertTrue(queue.IsEmpty());
+    }
+
+    /**
+     * Verifies that several producer threads pass every item through a small MpscArrayQueue, with each producer's
+     * items arriving in the order it sent them, and reports the throughput achieved.
+     */
+    @Test
+    public void MpscShouldPreserveProducerOrderUnderContention () throws InterruptedException
+    {
+        int numProducers = 4;
+        MpscArrayQueue<Long> queue = new MpscArrayQueue<Long>(256);
+        Thread[] producers = new Thread[numProducers];
+        for (int p = 0; p < numProducers; p++)
+        {
+            /* Tag each item with its producer in the high bits. */
+            long tag = (long)p << 32;
+            producers[p] = new Thread(() -> {
+                for (long i = 0; i < ITEMS_PER_PRODUCER; i++)
+                {
+                    while (!queue.Offer(tag | i))
+                    {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread producer : producers)
+        {
+            producer.start();
+        }
+        long[] expected = new long[numProducers];
+        long received = 0;
+        while (received < (long)numProducers * ITEMS_PER_PRODUCER)
+        {
+            Long item = queue.Poll();
+            if (item == null)
+            {
+                Thread.yield();
+                continue;
+            }
+            int producer = (int)(item >>> 32);
+            assertEquals(expected[producer]++, item & 0xFFFFFFFFL);
+            received++;
+        }
+        for (Thread producer : producers)
+        {
+            producer.join();
+        }
+        ReportThroughput(String.format("MPSC, %d producers", numProducers), received, System.nanoTime() - start);
+        assertTrue(queue.IsEmpty());
+    }
+
+    /**
+     * Prints the throughput of a contention test.
+     * @param label a description of the test.
+     * @param numItems the number of items passed through the queue.
+     * @param nanos the time taken, in nanoseconds.
+     */
+    private static void ReportThroughput (String label, long numItems, long nanos)
+    {
+        System.err.printf("%s: %.1f million items/s%n", label, numItems * 1e3 / nanos);
+    }
+}
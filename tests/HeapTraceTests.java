@@ -0,0 +1,98 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * @author Rob Thomas
+ * Provides a collection of unit tests for the RecordingHeap, HeapTraceWriter, HeapTrace and HeapTraceReplay classes.
+ */
+
+public class HeapTraceTests
+{
+    /**
+     * Verifies that operations made through a RecordingHeap are read back in order, with their keys, and that the
+     * recording heap behaves like the heap it wraps.
+     */
+    @Test
+    public void RecordedTraceShouldReadBackInOrder () throws IOException
+    {
+        long[] keys = { 5, -3, 0, Long.MAX_VALUE, Long.MIN_VALUE, 300 };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (HeapTraceWriter writer = new HeapTraceWriter(bytes))
+        {
+            RecordingHeap<Long> heap = new RecordingHeap<Long>(new BinaryHeap<Long>(), Long::longValue, writer);
+            for (long key : keys)
+            {
+                heap.Push(key);
+            }
+            assertEquals(Long.MIN_VALUE, (long)heap.Peek());
+            assertEquals(Long.MIN_VALUE, (long)heap.Pop());
+            assertEquals(keys.length - 1, heap.GetSize());
+            assertEquals(keys.length + 2, writer.GetNumRecords());
+        }
+        HeapTrace trace = HeapTrace.Read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(keys.length + 2, trace.GetLength());
+        for (int i = 0; i < keys.length; i++)
+        {
+            assertEquals(HeapTraceWriter.PUSH, trace.GetOpcode(i));
+            assertEquals(keys[i], trace.GetKey(i));
+        }
+        assertEquals(HeapTraceWriter.PEEK, trace.GetOpcode(keys.length));
+        assertEquals(HeapTraceWriter.POP, trace.GetOpcode(keys.length + 1));
+    }
+
+    /**
+     * Verifies that a failed Pop is not recorded.
+     */
+    @Test
+    public void FailedOperationsShouldNotBeRecorded () throws IOException
+    {
+        HeapTraceWriter writer = new HeapTraceWriter(new ByteArrayOutputStream());
+        RecordingHeap<Long> heap = new RecordingHeap<Long>(new BinaryHeap<Long>(), Long::longValue, writer);
+        assertThrows(IndexOutOfBoundsException.class, heap::Pop);
+        assertEquals(0, writer.GetNumRecords());
+    }
+
+    /**
+     * Verifies that reading something other than a heap trace throws an IOException.
+     */
+    @Test
+    public void InvalidTraceShouldThrowException ()
+    {
+        byte[] notATrace = { 1, 2, 3, 4, 5 };
+        assertThrows(IOException.class, () -> HeapTrace.Read(new ByteArrayInputStream(notATrace)));
+    }
+
+    /**
+     * Verifies that replaying a trace against every implementation measures each of its operations.
+     */
+    @Test
+    public void ReplayShouldMeasureEveryOperation () throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int numPushes = 100;
+        try (HeapTraceWriter writer = new HeapTraceWriter(bytes))
+        {
+            RecordingHeap<Long> heap = new RecordingHeap<Long>(new BinaryHeap<Long>(), Long::longValue, writer);
+            for (long i = 0; i < numPushes; i++)
+            {
+                heap.Push((i * 37) % numPushes);
+            }
+            while (!heap.IsEmpty())
+            {
+                heap.Peek();
+                heap.Pop();
+            }
+        }
+        HeapTrace trace = HeapTrace.Read(new ByteArrayInputStream(bytes.toByteArray()));
+        for (String name : HeapTraceReplay.IMPLEMENTATIONS.keySet())
+        {
+            HeapTraceReplay.Result result = HeapTraceReplay.Replay(trace, name, HeapTraceReplay.IMPLEMENTATIONS.get(name));
+            assertEquals(3 * numPushes, result.GetNumOperations());
+            assertTrue(result.GetLatencyPercentile(50) <= result.GetLatencyPercentile(99));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * @author Rob Thomas
+ * Provides a collection of unit tests for the KeyedBinaryHeap class.
+ */
+
+public class KeyedBinaryHeapTests
+{
+    static Random random;
+    static KeyedBinaryHeap<Integer> heap;
+
+    /**
+     * Before the test suite is run, sets up a Random generator.
+     */
+    @BeforeAll
+    public static void initAll()
+    {
+        random = new Random();
+    }
+
+    /**
+     * Before each individual test, generates a fresh KeyedBinaryHeap keyed on each Integer's value.
+     */
+    @BeforeEach
+    public void init()
+    {
+        heap = new KeyedBinaryHeap<Integer>(Integer::longValue);
+    }
+
+    /**
+     * Verifies that attempting to Pop from an empty KeyedBinaryHeap throws an IndexOutOfBoundsException.
+     */
+    @Test
+    public void PopFromEmptyHeapShouldThrowException ()
+    {
+        assertThrows(IndexOutOfBoundsException.class, heap::Pop);
+    }
+
+    /**
+     * Verifies that popping the contents of a KeyedBinaryHeap returns its contents in non-decreasing key order.
+     */
+    @Test
+    public void PopShouldReturnInNonDecreasingOrder ()
+    {
+        int numPushes = 200;
+        for (int i = 0; i < numPushes; i++)
+        {
+            heap.Push(random.nextInt(2 * numPushes) - numPushes);
+        }
+        assertTrue(heap.ItemsAreInOrder());
+        int previous = Integer.MIN_VALUE;
+        while (!heap.IsEmpty())
+        {
+            int next = heap.Pop();
+            assertTrue(previous <= next);
+            previous = next;
+        }
+    }
+
+    /**
+     * Verifies that each item's key is extracted exactly once, when it is pushed.
+     */
+    @Test
+    public void KeysShouldBeExtractedOncePerPush ()
+    {
+        int[] extractions = new int[1];
+        heap = new KeyedBinaryHeap<Integer>((Integer item) -> {
+            extractions[0]++;
+            return (long)item;
+        });
+        int numPushes = 100;
+        for (int i = 0; i < numPushes; i++)
+        {
+            heap.Push(random.nextInt());
+        }
+        while (!heap.IsEmpty())
+        {
+            heap.Pop();
+        }
+        assertEquals(numPushes, extractions[0]);
+    }
+
+    /**
+     * Verifies that a heap keyed on doubles orders negative keys, zeroes and positive keys the way Double.compare()
+     * does.
+     */
+    @Test
+    public void DoubleKeysShouldFollowDoubleOrdering ()
+    {
+        KeyedBinaryHeap<Double> doubleHeap = new KeyedBinaryHeap<Double>(Double::doubleValue);
+        double[] keys = { 2.5, -0.0, -3.75, 0.0, Double.NEGATIVE_INFINITY, 1e-9, -1e-9, Double.POSITIVE_INFINITY };
+        for (double key : keys)
+        {
+            doubleHeap.Push(key);
+        }
+        double previous = Double.NEGATIVE_INFINITY;
+        while (!doubleHeap.IsEmpty())
+        {
+            double next = doubleHeap.Pop();
+            assertTrue(Double.compare(previous, next) <= 0);
+            previous = next;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * @author Rob Thomas
+ * Provides a collection of unit tests for the LoserTreeMerge, LongLoserTreeMerge and HeapMerge classes.
+ */
+
+public class MergeTests
+{
+    static Random random;
+
+    /**
+     * Before the test suite is run, sets up a Random generator.
+     */
+    @BeforeAll
+    public static void initAll()
+    {
+        random = new Random();
+    }
+
+    /**
+     * Generates the given number of sorted lists of random length.
+     * @param numSources the number of lists to generate.
+     * @return the sorted lists.
+     */
+    private static List<List<Integer>> SortedSources (int numSources)
+    {
+        List<List<Integer>> sources = new ArrayList<List<Integer>>();
+        for (int i = 0; i < numSources; i++)
+        {
+            List<Integer> source = new ArrayList<Integer>();
+            int length = random.nextInt(40);
+            for (int j = 0; j < length; j++)
+            {
+                source.add(random.nextInt(100));
+            }
+            Collections.sort(source);
+            sources.add(source);
+        }
+        return sources;
+    }
+
+    /**
+     * Collects an iterator over each of the given lists.
+     * @param sources the lists to iterate over.
+     * @return an iterator for each list.
+     */
+    private static List<Iterator<Integer>> Iterators (List<List<Integer>> sources)
+    {
+        List<Iterator<Integer>> iterators = new ArrayList<Iterator<Integer>>();
+        for (List<Integer> source : sources)
+        {
+            iterators.add(source.iterator());
+        }
+        return iterators;
+    }
+
+    /**
+     * Verifies that both merges yield every item of every source in sorted order, for a range of source counts.
+     */
+    @Test
+    public void MergeShouldYieldAllItemsInOrder ()
+    {
+        for (int numSources = 0; numSources <= 33; numSources++)
+        {
+            List<List<Integer>> sources = SortedSources(numSources);
+            List<Integer> expected = new ArrayList<Integer>();
+            for (List<Integer> source : sources)
+            {
+                expected.addAll(source);
+            }
+            Collections.sort(expected);
+            assertEquals(expected, new LoserTreeMerge<Integer>(Iterators(sources)).ToStream().collect(Collectors.toList()));
+            assertEquals(expected, new HeapMerge<Integer>(Iterators(sources)).ToStream().collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Verifies that the primitive merge yields every value of every source in ascending order.
+     */
+    @Test
+    public void LongMergeShouldYieldAllValuesInOrder ()
+    {
+        List<List<Integer>> sources = SortedSources(20);
+        List<PrimitiveIterator.OfLong> iterators = new ArrayList<PrimitiveIterator.OfLong>();
+        List<Long> expected = new ArrayList<Long>();
+        for (List<Integer> source : sources)
+        {
+            iterators.add(source.stream().mapToLong(Integer::longValue).iterator());
+            for (int value : source)
+            {
+                expected.add((long)value);
+            }
+        }
+        Collections.sort(expected);
+        assertEquals(expected, new LongLoserTreeMerge(iterators).ToStream().boxed().collect(Collectors.toList()));
+    }
+
+    /**
+     * Verifies that merging with a custom Comparator follows that comparator, here one that ranks greater numbers
+     * higher.
+     */
+    @Test
+    public void MergeShouldFollowCustomComparator ()
+    {
+        List<List<Integer>> sources = SortedSources(10);
+        List<Integer> expected = new ArrayList<Integer>();
+        for (List<Integer> source : sources)
+        {
+            Collections.reverse(source);
+            expected.addAll(source);
+        }
+        expected.sort(Comparator.reverseOrder());
+        Comparator<Integer> reversed = Comparator.reverseOrder();
+        assertEquals(expected, new LoserTreeMerge<Integer>(Iterators(sources), reversed).ToStream().collect(Collectors.toList()));
+        assertEquals(expected, new HeapMerge<Integer>(Iterators(sources), reversed).ToStream().collect(Collectors.toList()));
+    }
+
+    /**
+     * Verifies that items that tie are taken from the earlier source first.
+     */
+    @Test
+    public void TiesShouldFavorEarlierSource ()
+    {
+        List<Iterator<Integer>> loserSources = new ArrayList<Iterator<Integer>>();
+        List<Iterator<Integer>> heapSources = new ArrayList<Iterator<Integer>>();
+        Integer[] items = new Integer[5];
+        for (int i = 0; i < items.length; i++)
+        {
+            items[i] = Integer.valueOf(1000);
+            loserSources.add(List.of(items[i]).iterator());
+            heapSources.add(List.of(items[i]).iterator());
+        }
+        LoserTreeMerge<Integer> loserMerge = new LoserTreeMerge<Integer>(loserSources);
+        HeapMerge<Integer> heapMerge = new HeapMerge<Integer>(heapSources);
+        for (int i = 0; i < items.length; i++)
+        {
+            assertSame(items[i], loserMerge.next());
+            assertSame(items[i], heapMerge.next());
+        }
+    }
+
+    /**
+     * Verifies that taking an item from an exhausted merge throws a NoSuchElementException.
+     */
+    @Test
+    public void NextOnExhaustedMergeShouldThrowException ()
+    {
+        LoserTreeMerge<Integer> merge = new LoserTreeMerge<Integer>(new ArrayList<Iterator<Integer>>());
+        assertFalse(merge.hasNext());
+        assertThrows(NoSuchElementException.class, merge::next);
+    }
+}
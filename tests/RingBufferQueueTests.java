@@ -0,0 +1,96 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Rob Thomas
+ * Provides a collection of unit tests for the RingBufferQueue class.
+ */
+
+public class RingBufferQueueTests
+{
+    static RingBufferQueue<Integer> queue;
+
+    /**
+     * Before each individual test, generates a fresh RingBufferQueue with a small capacity, so that tests exercise
+     * wrapping around and growing.
+     */
+    @BeforeEach
+    public void init()
+    {
+        queue = new RingBufferQueue<Integer>(4);
+    }
+
+    /**
+     * Verifies that attempting to Dequeue from an empty RingBufferQueue throws an IndexOutOfBoundsException.
+     */
+    @Test
+    public void DequeueFromEmptyQueueShouldThrowException ()
+    {
+        assertTrue(queue.IsEmpty());
+        assertThrows(IndexOutOfBoundsException.class, queue::Dequeue);
+    }
+
+    /**
+     * Verifies that requested capacities are rounded up to a power of two.
+     */
+    @Test
+    public void CapacityShouldBePowerOfTwo ()
+    {
+        assertEquals(1, new RingBufferQueue<Integer>(1).GetCapacity());
+        assertEquals(8, new RingBufferQueue<Integer>(5).GetCapacity());
+        assertEquals(16, new RingBufferQueue<Integer>(16).GetCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferQueue<Integer>(0));
+    }
+
+    /**
+     * Verifies that items come out in the order they went in, across wrap-arounds and growth.
+     */
+    @Test
+    public void DequeueShouldReturnInFirstInFirstOutOrder ()
+    {
+        int nextIn = 0;
+        int nextOut = 0;
+        for (int round = 0; round < 50; round++)
+        {
+            /* Enqueue a few more items than are dequeued each round, so the queue wraps and then grows. */
+            for (int i = 0; i < 3; i++)
+            {
+                queue.Enqueue(nextIn++);
+            }
+            for (int i = 0; i < 2; i++)
+            {
+                assertEquals(nextOut++, (int)queue.Dequeue());
+            }
+            assertEquals(nextIn - nextOut, queue.GetSize());
+        }
+        while (!queue.IsEmpty())
+        {
+            assertEquals(nextOut++, (int)queue.Dequeue());
+        }
+        assertEquals(nextIn, nextOut);
+    }
+
+    /**
+     * Verifies that iterating over a RingBufferQueue visits its items front to back without removing them.
+     */
+    @Test
+    public void IteratingDoesNotAlterQueue ()
+    {
+        queue.Enqueue(-1);
+        queue.Dequeue();
+        int numItems = 10;
+        for (int i = 0; i < numItems; i++)
+        {
+            queue.Enqueue(i);
+        }
+        int expected = 0;
+        for (int item : queue)
+        {
+            assertEquals(expected++, item);
+        }
+        assertEquals(numItems, expected);
+        assertEquals(numItems, queue.GetSize());
+        assertEquals(0, (int)queue.Peek());
+    }
+}